@@ -53,7 +53,8 @@ export default function Books() {
             params: {
                 page: page,
                 size: 4,
-                direction: 'asc'
+                direction: 'asc',
+                withTotal: false
             }
         });
 
@@ -0,0 +1,25 @@
+package br.com.erudio.config;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+// Gives one request a timeout of its own instead of spring.mvc.async.request-timeout. A
+// StreamingResponseBody cannot carry a timeout the way a WebAsyncTask does, so the handler
+// sets TIMEOUT_ATTRIBUTE (milliseconds) on the request and this applies it right before the
+// async processing starts.
+public class AsyncTimeoutInterceptor implements CallableProcessingInterceptor {
+
+	public static final String TIMEOUT_ATTRIBUTE = AsyncTimeoutInterceptor.class.getName() + ".TIMEOUT";
+
+	@Override
+	public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+		if (request instanceof AsyncWebRequest asyncWebRequest
+				&& request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Long timeout) {
+			asyncWebRequest.setTimeout(timeout);
+		}
+	}
+}
@@ -4,6 +4,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,6 +12,8 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
@@ -18,6 +21,7 @@ import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder.Secret
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import br.com.erudio.security.jwt.JwtAuthenticationCache;
 import br.com.erudio.security.jwt.JwtTokenFilter;
 import br.com.erudio.security.jwt.JwtTokenProvider;
 
@@ -28,14 +32,35 @@ public class SecurityConfig{
 	@Autowired
 	private JwtTokenProvider tokenProvider;
 
+	@Autowired
+	private JwtAuthenticationCache authenticationCache;
+
+	// Encoder used for new hashes. Users whose hash was made by another encoder, or with
+	// a lower cost, are transparently re-encoded by UserServices.updatePassword on signin.
+	@Value("${security.password.encoding-id:pbkdf2}")
+	private String encodingId = "pbkdf2";
+
+	@Value("${security.password.bcrypt.strength:10}")
+	private int bcryptStrength = 10;
+
+	@Value("${security.password.argon2.memory:16384}")
+	private int argon2Memory = 16384;
+
+	@Value("${security.password.argon2.iterations:2}")
+	private int argon2Iterations = 2;
+
     @Bean
     PasswordEncoder passWordEncoder() {
 		Map<String, PasswordEncoder> encoders = new HashMap<>();
 		
+		// The pbkdf2 hash does not store its cost, so these parameters can never change
+		// without breaking the hashes already in users.password (V8__Insert_Data_In_Users.sql)
 		Pbkdf2PasswordEncoder pbkdf2Encoder = new Pbkdf2PasswordEncoder("", 8, 185000,
                 SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
 		encoders.put("pbkdf2", pbkdf2Encoder);
-		DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder("pbkdf2", encoders);
+		encoders.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+		encoders.put("argon2", new Argon2PasswordEncoder(16, 32, 1, argon2Memory, argon2Iterations));
+		DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(encodingId, encoders);
 		passwordEncoder.setDefaultPasswordEncoderForMatches(pbkdf2Encoder);
 		return passwordEncoder;
 	}
@@ -49,7 +74,7 @@ public class SecurityConfig{
 	@Bean
 	SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception{
         
-        JwtTokenFilter customFilter = new JwtTokenFilter(tokenProvider);
+        JwtTokenFilter customFilter = new JwtTokenFilter(tokenProvider, authenticationCache);
  
         return http
         	.httpBasic(basic -> basic.disable())
@@ -63,9 +88,13 @@ public class SecurityConfig{
 	        				"/auth/signin",
 							"/auth/refresh/**",
 	                		"/swagger-ui/**",
-	                		"/v3/api-docs/**"
+	                		"/v3/api-docs/**",
+	                		"/.well-known/jwks.json",
+	                		"/actuator/health"
 	                    ).permitAll()
+	                    .requestMatchers("/api/user/**").hasAuthority("ADMIN")
 	                    .requestMatchers("/api/**").authenticated()
+	                    .requestMatchers("/actuator/**").authenticated()
 	                    .requestMatchers("/users").denyAll()
 	            )
             .cors(cors -> {})
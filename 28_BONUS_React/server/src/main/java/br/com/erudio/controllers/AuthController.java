@@ -15,6 +15,7 @@ import br.com.erudio.data.vo.v1.security.AccountCredentialsVO;
 import br.com.erudio.services.AuthServices;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 
 @Tag(name = "Authentication Endpoint")
 @RestController
@@ -27,11 +28,12 @@ public class AuthController {
 	@SuppressWarnings("rawtypes")
 	@Operation(summary = "Authenticates a user and returns a token")
 	@PostMapping(value = "/signin")
-	public ResponseEntity signin(@RequestBody AccountCredentialsVO data) {
+	public ResponseEntity signin(@RequestBody AccountCredentialsVO data, HttpServletRequest request) {
 		if (checkIfParamsIsNotNull(data))
 			return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Invalid client request!");
 		
-		var token = authServices.signin(data);
+		// behind a trusted proxy Tomcat's RemoteIpValve has already taken this from X-Forwarded-For
+		var token = authServices.signin(data, request.getRemoteAddr());
 		if (token == null)
 			return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Invalid client request!");
 		
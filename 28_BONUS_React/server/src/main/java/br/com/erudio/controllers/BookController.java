@@ -1,12 +1,14 @@
 package br.com.erudio.controllers;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
-import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,11 +17,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import br.com.erudio.config.AsyncTimeoutInterceptor;
+import br.com.erudio.data.vo.v1.BatchItemResultVO;
 import br.com.erudio.data.vo.v1.BookVO;
 import br.com.erudio.services.BookServices;
+import br.com.erudio.serialization.ExportWriter;
+import br.com.erudio.serialization.RepresentationCache;
 import br.com.erudio.util.MediaType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -27,6 +35,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/api/book/v1")
@@ -36,9 +45,17 @@ public class BookController {
 	@Autowired
 	private BookServices service;
 
+	@Autowired
+	private RepresentationCache representationCache;
+
+	// how long an export may stream, the other async requests keep spring.mvc.async.request-timeout
+	@Value("${export.stream.timeout:3600000}")
+	private long exportTimeoutInMilliseconds = 3600000;
+
 	@GetMapping(
 			produces = { 
-					MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML })
+					MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML,
+					MediaType.APPLICATION_LEAN_JSON })
 	@Operation(summary = "Finds all Books", description = "Finds all Books",
 			tags = {"Books"},
 			responses = {
@@ -54,17 +71,47 @@ public class BookController {
 				@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
 				@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
 			})
-	public ResponseEntity<PagedModel<EntityModel<BookVO>>> findAll(
+	public ResponseEntity<?> findAll(
 			@RequestParam(value = "page", defaultValue = "0") Integer page,
 			@RequestParam(value = "size", defaultValue = "12") Integer size,
-			@RequestParam(value = "direction", defaultValue = "asc") String direction
+			@RequestParam(value = "direction", defaultValue = "asc") String direction,
+			@RequestParam(value = "withTotal", defaultValue = "true") Boolean withTotal,
+			@RequestParam(value = "links", required = false) String links,
+			@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
 	) {
 		
 		var sortDirection = "desc".equalsIgnoreCase(direction)
 				? Direction.DESC : Direction.ASC;
 		
 		Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, "title"));
-		return ResponseEntity.ok(service.findAll(pageable));
+		if (isLean(links, accept)) return ResponseEntity.ok(service.findAllLean(pageable, withTotal));
+		return ResponseEntity.ok(service.findAll(pageable, withTotal));
+	}
+
+	// The whole table in one response, written while it is read; the format follows Accept.
+	@GetMapping(
+			value = "/export",
+			produces = { MediaType.APPLICATION_NDJSON, MediaType.TEXT_CSV, MediaType.APPLICATION_XML })
+	@Operation(summary = "Exports all Books",
+			description = "Exports all Books as NDJSON, CSV or XML, streamed row by row!",
+			tags = {"Books"}, 
+			responses = {
+				@ApiResponse(description = "Success", responseCode = "200", content = @Content),
+				@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+				@ApiResponse(description = "Not Acceptable", responseCode = "406", content = @Content),
+				@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			})
+	public ResponseEntity<StreamingResponseBody> exportBooks(
+			@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+			HttpServletRequest request) {
+
+		var format = ExportWriter.Format.negotiate(accept);
+		request.setAttribute(AsyncTimeoutInterceptor.TIMEOUT_ATTRIBUTE, exportTimeoutInMilliseconds);
+		return ResponseEntity.ok()
+				.header(HttpHeaders.CONTENT_TYPE, format.getMediaType())
+				.header(HttpHeaders.CONTENT_DISPOSITION,
+						"attachment; filename=\"books." + format.getExtension() + "\"")
+				.body(out -> service.exportBooks(format, out));
 	}
 
 	@GetMapping(
@@ -82,8 +129,9 @@ public class BookController {
 				@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
 				@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
 			})
-	public BookVO findById(@PathVariable(value = "id") Long id) {
-		return service.findById(id);
+	public ResponseEntity<byte[]> findById(@PathVariable(value = "id") Long id) {
+		var version = service.findVersion(id);
+		return representationCache.respond("book", id, version, () -> service.findById(id, version));
 	}
 
 	@PostMapping(
@@ -104,6 +152,46 @@ public class BookController {
 		return service.create(Book);
 	}
 
+	@PostMapping(
+			value = "/batch",
+			consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML }, 
+			produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML })
+	@Operation(summary = "Adds a batch of Books",
+			description = "Adds Books in chunks by passing in a JSON, XML or YML array, answering with one result per item!",
+			tags = {"Books"}, 
+			responses = {
+				@ApiResponse(description = "Success", responseCode = "200",
+					content = @Content(array = @ArraySchema(schema = @Schema(implementation = BatchItemResultVO.class)))
+						),
+				@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+				@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+				@ApiResponse(description = "Payload Too Large", responseCode = "413", content = @Content),
+				@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			})
+	public List<BatchItemResultVO> createBatch(@RequestBody List<BookVO> books) {
+		return service.createBatch(books);
+	}
+
+	@PutMapping(
+			value = "/batch",
+			consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML }, 
+			produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML })
+	@Operation(summary = "Updates a batch of Books",
+			description = "Updates Books in chunks by passing in a JSON, XML or YML array, answering with one result per item!",
+			tags = {"Books"}, 
+			responses = {
+				@ApiResponse(description = "Success", responseCode = "200",
+					content = @Content(array = @ArraySchema(schema = @Schema(implementation = BatchItemResultVO.class)))
+						),
+				@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+				@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+				@ApiResponse(description = "Payload Too Large", responseCode = "413", content = @Content),
+				@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			})
+	public List<BatchItemResultVO> updateBatch(@RequestBody List<BookVO> books) {
+		return service.updateBatch(books);
+	}
+
 	@PutMapping(
 			consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML }, 
 			produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,	MediaType.APPLICATION_YML })
@@ -139,4 +227,9 @@ public class BookController {
 		return ResponseEntity.noContent().build();
 	}
 
+	// ?links=none or the lean media type: plain rows and paging numbers, no HAL links
+	private boolean isLean(String links, String accept) {
+		return "none".equalsIgnoreCase(links)
+				|| (accept != null && accept.contains(MediaType.APPLICATION_LEAN_JSON));
+	}
 }
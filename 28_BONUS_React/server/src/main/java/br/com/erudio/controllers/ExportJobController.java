@@ -0,0 +1,82 @@
+package br.com.erudio.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import br.com.erudio.data.vo.v1.ExportJobVO;
+import br.com.erudio.serialization.ExportWriter;
+import br.com.erudio.services.ExportJobService;
+import br.com.erudio.util.MediaType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/export/v1")
+@Tag(name = "Export Jobs", description = "Endpoints for Exporting whole tables to a file")
+public class ExportJobController {
+
+	@Autowired
+	private ExportJobService service;
+
+	@PostMapping(
+			value = "/{resource}",
+			produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML })
+	@Operation(summary = "Starts an export job",
+			description = "Starts exporting all person or book rows to a gzip file as ndjson, csv or xml; "
+					+ "the Location header is where its status is reported!",
+			tags = {"Export Jobs"}, 
+			responses = {
+				@ApiResponse(description = "Accepted", responseCode = "202",
+					content = @Content(schema = @Schema(implementation = ExportJobVO.class))
+						),
+				@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+				@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+				@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+				@ApiResponse(description = "Service Unavailable", responseCode = "503", content = @Content),
+			})
+	public ResponseEntity<ExportJobVO> start(
+			@PathVariable(value = "resource") String resource,
+			@RequestParam(value = "format", defaultValue = "ndjson") String format) {
+
+		var job = service.start(resource, ExportWriter.Format.of(format));
+		var status = ServletUriComponentsBuilder.fromCurrentContextPath()
+				.path("/api/export/v1/jobs/{id}")
+				.buildAndExpand(job.getId())
+				.toUri();
+		return ResponseEntity.accepted().location(status).body(job);
+	}
+
+	@GetMapping(
+			value = "/jobs/{id}",
+			produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML })
+	@Operation(summary = "Reports an export job",
+			description = "Reports the status of an export job, with the download URI of its file once completed",
+			tags = {"Export Jobs"}, 
+			responses = {
+				@ApiResponse(description = "Success", responseCode = "200",
+					content = @Content(schema = @Schema(implementation = ExportJobVO.class))
+						),
+				@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+				@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+			})
+	public ExportJobVO findById(@PathVariable(value = "id") String id) {
+		var job = service.findById(id);
+		if (job.getFileName() != null) {
+			job.setDownloadUri(ServletUriComponentsBuilder.fromCurrentContextPath()
+					.path("/api/file/v1/downloadFile/")
+					.path(job.getFileName())
+					.toUriString());
+		}
+		return job;
+	}
+}
@@ -82,11 +82,13 @@ public class FileController {
 		if (contentType.isBlank())
 			contentType = "application/octet-stream";
 		
+		// A Range header is answered by Spring MVC itself, with a 206 and only the bytes asked
+		// for, which is what lets a client resume a download that broke off.
 		return ResponseEntity.ok()
 				.contentType(MediaType.parseMediaType(contentType))
 				.header(
 					HttpHeaders.CONTENT_DISPOSITION, 
 					"attachment; filename=\"" + resource.getFilename() + "\"")
-				.body(null);
+				.body(resource);
 	}
 }
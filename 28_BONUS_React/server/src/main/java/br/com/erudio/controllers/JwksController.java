@@ -0,0 +1,35 @@
+package br.com.erudio.controllers;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.erudio.security.jwt.JwtKeyManager;
+import br.com.erudio.util.MediaType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Authentication Endpoint")
+@RestController
+public class JwksController {
+
+	@Autowired
+	private JwtKeyManager keyManager;
+
+	@Value("${security.jwt.keys.jwks-max-age:300}")
+	private long maxAgeInSeconds = 300;
+
+	@Operation(summary = "Returns the public keys that verify the tokens issued by this API")
+	@GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON)
+	public ResponseEntity<Map<String, Object>> jwks() {
+		return ResponseEntity.ok()
+				.cacheControl(CacheControl.maxAge(maxAgeInSeconds, TimeUnit.SECONDS).cachePublic())
+				.body(keyManager.getJwks());
+	}
+}
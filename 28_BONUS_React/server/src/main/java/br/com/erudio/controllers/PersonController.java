@@ -1,12 +1,19 @@
 package br.com.erudio.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,11 +24,22 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import br.com.erudio.config.AsyncTimeoutInterceptor;
+import br.com.erudio.data.vo.v1.BatchItemResultVO;
+import br.com.erudio.data.vo.v1.ImportProgressVO;
+import br.com.erudio.data.vo.v1.PersonSuggestionVO;
 import br.com.erudio.data.vo.v1.PersonVO;
 import br.com.erudio.services.PersonServices;
+import br.com.erudio.serialization.ExportWriter;
+import br.com.erudio.serialization.RepresentationCache;
 import br.com.erudio.util.MediaType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -29,6 +47,8 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 //@CrossOrigin
 @RestController
@@ -39,8 +59,19 @@ public class PersonController {
 	@Autowired
 	private PersonServices service;
 
+	@Autowired
+	private RepresentationCache representationCache;
+
+	// how long an export may stream, the other async requests keep spring.mvc.async.request-timeout
+	@Value("${export.stream.timeout:3600000}")
+	private long exportTimeoutInMilliseconds = 3600000;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
 	@GetMapping(
-			produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML })
+			produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML,
+					MediaType.APPLICATION_LEAN_JSON })
 	@Operation(summary = "Finds all People", description = "Finds all People",
 			tags = {"People"}, 
 			responses = {
@@ -56,17 +87,74 @@ public class PersonController {
 				@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
 				@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
 				})
-	public ResponseEntity<PagedModel<EntityModel<PersonVO>>> findAll(
+	public ResponseEntity<?> findAll(
 			@RequestParam(value = "page", defaultValue = "0") Integer page,
 			@RequestParam(value = "size", defaultValue = "12") Integer size,
-			@RequestParam(value = "direction", defaultValue = "asc") String direction
+			@RequestParam(value = "direction", defaultValue = "asc") String direction,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "withTotal", defaultValue = "true") Boolean withTotal,
+			@RequestParam(value = "links", required = false) String links,
+			@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
 		) {
 		
+		if (cursor != null) return ResponseEntity.ok(service.findAllByCursor(cursor, size, direction));
+		
 		var sortDirection = "desc".equalsIgnoreCase(direction) 
 				? Direction.DESC : Direction.ASC;
 		
 		Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, "firstName"));
-		return ResponseEntity.ok(service.findAll(pageable));
+		if (isLean(links, accept)) return ResponseEntity.ok(service.findAllLean(pageable, withTotal));
+		return ResponseEntity.ok(service.findAll(pageable, withTotal));
+	}
+
+	// The whole table in one response, written while it is read; the format follows Accept.
+	@GetMapping(
+			value = "/export",
+			produces = { MediaType.APPLICATION_NDJSON, MediaType.TEXT_CSV, MediaType.APPLICATION_XML })
+	@Operation(summary = "Exports all People",
+			description = "Exports all People as NDJSON, CSV or XML, streamed row by row!",
+			tags = {"People"}, 
+			responses = {
+				@ApiResponse(description = "Success", responseCode = "200", content = @Content),
+				@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+				@ApiResponse(description = "Not Acceptable", responseCode = "406", content = @Content),
+				@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			})
+	public ResponseEntity<StreamingResponseBody> exportPeople(
+			@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+			HttpServletRequest request) {
+
+		var format = ExportWriter.Format.negotiate(accept);
+		request.setAttribute(AsyncTimeoutInterceptor.TIMEOUT_ATTRIBUTE, exportTimeoutInMilliseconds);
+		return ResponseEntity.ok()
+				.header(HttpHeaders.CONTENT_TYPE, format.getMediaType())
+				.header(HttpHeaders.CONTENT_DISPOSITION,
+						"attachment; filename=\"people." + format.getExtension() + "\"")
+				.body(out -> service.exportPeople(format, out));
+	}
+
+	@GetMapping(value = "/suggest",
+			produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML })
+	@Operation(summary = "Suggests People by Name prefix",
+			description = "Suggests People whose first or last name starts with the prefix",
+	tags = {"People"}, 
+	responses = {
+			@ApiResponse(description = "Success", responseCode = "200",
+					content = {
+							@Content(
+									mediaType = "application/json",
+									array = @ArraySchema(schema = @Schema(implementation = PersonSuggestionVO.class))
+									)
+			}),
+			@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+	})
+	public List<PersonSuggestionVO> suggest(
+			@RequestParam(value = "prefix") String prefix,
+			@RequestParam(value = "limit", defaultValue = "10") Integer limit
+			) {
+		return service.suggest(prefix, limit);
 	}
 
 	@GetMapping(value = "/findPersonByName/{firstName}",
@@ -116,8 +204,9 @@ public class PersonController {
 				@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
 				@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
 				})
-	public PersonVO findById(@PathVariable(value = "id") Long id) {
-		return service.findById(id);
+	public ResponseEntity<byte[]> findById(@PathVariable(value = "id") Long id) {
+		var version = service.findVersion(id);
+		return representationCache.respond("person", id, version, () -> service.findById(id, version));
 	}
 
 	@CrossOrigin(origins = {"http://localhost:8080", "https://erudio.com.br"})
@@ -139,6 +228,83 @@ public class PersonController {
 		return service.create(person);
 	}
 
+	@PostMapping(
+			value = "/batch",
+			consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML }, 
+			produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML })
+	@Operation(summary = "Adds a batch of People",
+			description = "Adds People in chunks by passing in a JSON, XML or YML array, answering with one result per item!",
+			tags = {"People"}, 
+			responses = {
+				@ApiResponse(description = "Success", responseCode = "200",
+					content = @Content(array = @ArraySchema(schema = @Schema(implementation = BatchItemResultVO.class)))
+						),
+				@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+				@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+				@ApiResponse(description = "Payload Too Large", responseCode = "413", content = @Content),
+				@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			})
+	public List<BatchItemResultVO> createBatch(@RequestBody List<PersonVO> people) {
+		return service.createBatch(people);
+	}
+
+	@PutMapping(
+			value = "/batch",
+			consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML }, 
+			produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML })
+	@Operation(summary = "Updates a batch of People",
+			description = "Updates People in chunks by passing in a JSON, XML or YML array, answering with one result per item!",
+			tags = {"People"}, 
+			responses = {
+				@ApiResponse(description = "Success", responseCode = "200",
+					content = @Content(array = @ArraySchema(schema = @Schema(implementation = BatchItemResultVO.class)))
+						),
+				@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+				@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+				@ApiResponse(description = "Payload Too Large", responseCode = "413", content = @Content),
+				@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			})
+	public List<BatchItemResultVO> updateBatch(@RequestBody List<PersonVO> people) {
+		return service.updateBatch(people);
+	}
+
+	// The body is handed to the service as the raw stream, never buffered, and the progress
+	// lines are flushed as each chunk is written so the client sees how far the import got.
+	@PostMapping(
+			value = "/import",
+			consumes = { MediaType.APPLICATION_NDJSON, MediaType.TEXT_CSV },
+			produces = MediaType.APPLICATION_NDJSON)
+	@Operation(summary = "Imports People from a stream",
+			description = "Imports People from an NDJSON body, one person per line, or a CSV body with a header row, "
+					+ "answering with one NDJSON progress line per chunk written!",
+			tags = {"People"}, 
+			responses = {
+				@ApiResponse(description = "Success", responseCode = "200",
+					content = @Content(schema = @Schema(implementation = ImportProgressVO.class))
+						),
+				@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+				@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+				@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+			})
+	public void importPeople(
+			@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+			InputStream body,
+			HttpServletResponse response) throws IOException {
+
+		response.setContentType(MediaType.APPLICATION_NDJSON);
+		var out = response.getOutputStream();
+		var writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		service.importPeople(body, contentType.startsWith(MediaType.TEXT_CSV), progress -> {
+			try {
+				writer.writeValue(out, progress);
+				out.write('\n');
+				out.flush();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+
 	@PutMapping(
 			consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML }, 
 			produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML })
@@ -193,4 +359,10 @@ public class PersonController {
 		service.delete(id);
 		return ResponseEntity.noContent().build();
 	}
-}
\ No newline at end of file
+
+	// ?links=none or the lean media type: plain rows and paging numbers, no HAL links
+	private boolean isLean(String links, String accept) {
+		return "none".equalsIgnoreCase(links)
+				|| (accept != null && accept.contains(MediaType.APPLICATION_LEAN_JSON));
+	}
+}
@@ -0,0 +1,54 @@
+package br.com.erudio.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.erudio.services.UserServices;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+// restricted to ADMIN in SecurityConfig
+@RestController
+@RequestMapping("/api/user/v1")
+@Tag(name = "Users", description = "Endpoints for Managing Users")
+public class UserController {
+
+	@Autowired
+	private UserServices service;
+
+	@PatchMapping(value = "/{username}/disable")
+	@Operation(summary = "Disables a User and revokes the tokens already issued to the user", description = "Disables a User",
+		tags = {"Users"},
+		responses = {
+			@ApiResponse(description = "No Content", responseCode = "204", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Forbidden", responseCode = "403", content = @Content),
+			@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+		})
+	public ResponseEntity<?> disable(@PathVariable(value = "username") String username) {
+		service.disableUser(username);
+		return ResponseEntity.noContent().build();
+	}
+
+	@PatchMapping(value = "/{username}/lock")
+	@Operation(summary = "Locks a User and revokes the tokens already issued to the user", description = "Locks a User",
+		tags = {"Users"},
+		responses = {
+			@ApiResponse(description = "No Content", responseCode = "204", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Forbidden", responseCode = "403", content = @Content),
+			@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+			@ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+		})
+	public ResponseEntity<?> lock(@PathVariable(value = "username") String username) {
+		service.lockUser(username);
+		return ResponseEntity.noContent().build();
+	}
+}
@@ -0,0 +1,79 @@
+package br.com.erudio.data.vo.v1;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+// Outcome of one element of a batch request, index being its position in the request array.
+@JsonInclude(Include.NON_NULL)
+@JsonPropertyOrder({ "index", "id", "status", "message" })
+public class BatchItemResultVO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	public enum Status { CREATED, UPDATED, NOT_FOUND, INVALID, FAILED }
+
+	private long index;
+	private Long id;
+	private Status status;
+	private String message;
+
+	public BatchItemResultVO() {}
+
+	public BatchItemResultVO(long index, Long id, Status status, String message) {
+		this.index = index;
+		this.id = id;
+		this.status = status;
+		this.message = message;
+	}
+
+	public long getIndex() {
+		return index;
+	}
+
+	public void setIndex(long index) {
+		this.index = index;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, index, message, status);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (obj == null) return false;
+		if (getClass() != obj.getClass()) return false;
+		BatchItemResultVO other = (BatchItemResultVO) obj;
+		return Objects.equals(id, other.id) && index == other.index
+				&& Objects.equals(message, other.message) && status == other.status;
+	}
+}
@@ -0,0 +1,68 @@
+package br.com.erudio.data.vo.v1;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+@JsonPropertyOrder({ "id", "author", "launchDate", "price", "title" })
+public class BookLeanVO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private Long id;
+	private String author;
+	private Date launchDate;
+	private Double price;
+	private String title;
+
+	public BookLeanVO() {}
+
+	public BookLeanVO(Long id, String author, Date launchDate, Double price, String title) {
+		this.id = id;
+		this.author = author;
+		this.launchDate = launchDate;
+		this.price = price;
+		this.title = title;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getAuthor() {
+		return author;
+	}
+
+	public void setAuthor(String author) {
+		this.author = author;
+	}
+
+	public Date getLaunchDate() {
+		return launchDate;
+	}
+
+	public void setLaunchDate(Date launchDate) {
+		this.launchDate = launchDate;
+	}
+
+	public Double getPrice() {
+		return price;
+	}
+
+	public void setPrice(Double price) {
+		this.price = price;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+}
@@ -6,12 +6,13 @@ import java.util.Objects;
 
 import org.springframework.hateoas.RepresentationModel;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.github.dozermapper.core.Mapping;
 
 @JsonPropertyOrder({ "id", "author", "lautchDate", "price", "title" })
-public class BookVO extends RepresentationModel<BookVO> implements Serializable {
+public class BookVO extends RepresentationModel<BookVO> implements Serializable, Versioned {
 
 	private static final long serialVersionUID = 1L;
 
@@ -23,9 +24,21 @@ public class BookVO extends RepresentationModel<BookVO> implements Serializable
 	private Double price;
 	private String title;
 
+	// the entity version, for the caches; not part of the representation
+	@JsonIgnore
+	private Long version;
+
 	public BookVO() {
 	}
 
+	public BookVO(Long key, String author, Date launchDate, Double price, String title) {
+		this.key = key;
+		this.author = author;
+		this.launchDate = launchDate;
+		this.price = price;
+		this.title = title;
+	}
+
 	public Long getKey() {
 		return key;
 	}
@@ -66,6 +79,15 @@ public class BookVO extends RepresentationModel<BookVO> implements Serializable
 		this.title = title;
 	}
 
+	@Override
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -0,0 +1,130 @@
+package br.com.erudio.data.vo.v1;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+// The state of an export job; fileName and downloadUri are set once the file is complete.
+@JsonInclude(Include.NON_NULL)
+@JsonPropertyOrder({ "id", "resource", "format", "status", "rows", "size",
+		"createdAt", "completedAt", "expiresAt", "error", "fileName", "downloadUri" })
+public class ExportJobVO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+	private String id;
+	private String resource;
+	private String format;
+	private Status status;
+	private Long rows;
+	private Long size;
+	private Date createdAt;
+	private Date completedAt;
+	private Date expiresAt;
+	private String error;
+	private String fileName;
+	private String downloadUri;
+
+	public ExportJobVO() {}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public String getResource() {
+		return resource;
+	}
+
+	public void setResource(String resource) {
+		this.resource = resource;
+	}
+
+	public String getFormat() {
+		return format;
+	}
+
+	public void setFormat(String format) {
+		this.format = format;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	public Long getRows() {
+		return rows;
+	}
+
+	public void setRows(Long rows) {
+		this.rows = rows;
+	}
+
+	public Long getSize() {
+		return size;
+	}
+
+	public void setSize(Long size) {
+		this.size = size;
+	}
+
+	public Date getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(Date createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public Date getCompletedAt() {
+		return completedAt;
+	}
+
+	public void setCompletedAt(Date completedAt) {
+		this.completedAt = completedAt;
+	}
+
+	public Date getExpiresAt() {
+		return expiresAt;
+	}
+
+	public void setExpiresAt(Date expiresAt) {
+		this.expiresAt = expiresAt;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+
+	public String getFileName() {
+		return fileName;
+	}
+
+	public void setFileName(String fileName) {
+		this.fileName = fileName;
+	}
+
+	public String getDownloadUri() {
+		return downloadUri;
+	}
+
+	public void setDownloadUri(String downloadUri) {
+		this.downloadUri = downloadUri;
+	}
+}
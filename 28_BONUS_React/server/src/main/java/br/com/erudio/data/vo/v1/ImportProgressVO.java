@@ -0,0 +1,84 @@
+package br.com.erudio.data.vo.v1;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+// One progress line of a streaming import: the totals so far and the records of the last
+// chunk that were not created, index being the position of the record in the upload.
+@JsonInclude(Include.NON_EMPTY)
+@JsonPropertyOrder({ "read", "created", "invalid", "failed", "done", "error", "errors" })
+public class ImportProgressVO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private long read;
+	private long created;
+	private long invalid;
+	private long failed;
+	private boolean done;
+	private String error;
+	private List<BatchItemResultVO> errors = new ArrayList<>();
+
+	public ImportProgressVO() {}
+
+	public long getRead() {
+		return read;
+	}
+
+	public void setRead(long read) {
+		this.read = read;
+	}
+
+	public long getCreated() {
+		return created;
+	}
+
+	public void setCreated(long created) {
+		this.created = created;
+	}
+
+	public long getInvalid() {
+		return invalid;
+	}
+
+	public void setInvalid(long invalid) {
+		this.invalid = invalid;
+	}
+
+	public long getFailed() {
+		return failed;
+	}
+
+	public void setFailed(long failed) {
+		this.failed = failed;
+	}
+
+	public boolean isDone() {
+		return done;
+	}
+
+	public void setDone(boolean done) {
+		this.done = done;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+
+	public List<BatchItemResultVO> getErrors() {
+		return errors;
+	}
+
+	public void setErrors(List<BatchItemResultVO> errors) {
+		this.errors = errors;
+	}
+}
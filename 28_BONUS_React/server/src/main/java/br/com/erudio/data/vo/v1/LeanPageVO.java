@@ -0,0 +1,90 @@
+package br.com.erudio.data.vo.v1;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+// Flat listing for clients that never follow links: the rows and the paging numbers, no
+// _links and no _embedded wrapper. Totals are left out when the listing was read as a slice.
+@JsonInclude(Include.NON_NULL)
+@JsonPropertyOrder({ "content", "number", "size", "totalElements", "totalPages", "hasNext" })
+public class LeanPageVO<T> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private List<T> content;
+	private int number;
+	private int size;
+	private Long totalElements;
+	private Integer totalPages;
+	private boolean hasNext;
+
+	public LeanPageVO() {}
+
+	public static <T> LeanPageVO<T> of(Slice<T> slice) {
+		var lean = new LeanPageVO<T>();
+		lean.content = slice.getContent();
+		lean.number = slice.getNumber();
+		lean.size = slice.getSize();
+		lean.hasNext = slice.hasNext();
+		if (slice instanceof Page<T> page) {
+			lean.totalElements = page.getTotalElements();
+			lean.totalPages = page.getTotalPages();
+		}
+		return lean;
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public void setContent(List<T> content) {
+		this.content = content;
+	}
+
+	public int getNumber() {
+		return number;
+	}
+
+	public void setNumber(int number) {
+		this.number = number;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public void setSize(int size) {
+		this.size = size;
+	}
+
+	public Long getTotalElements() {
+		return totalElements;
+	}
+
+	public void setTotalElements(Long totalElements) {
+		this.totalElements = totalElements;
+	}
+
+	public Integer getTotalPages() {
+		return totalPages;
+	}
+
+	public void setTotalPages(Integer totalPages) {
+		this.totalPages = totalPages;
+	}
+
+	public boolean isHasNext() {
+		return hasNext;
+	}
+
+	public void setHasNext(boolean hasNext) {
+		this.hasNext = hasNext;
+	}
+}
@@ -0,0 +1,44 @@
+package br.com.erudio.data.vo.v1;
+
+import java.io.Serializable;
+
+public class PersonSuggestionVO implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private Long id;
+	private String firstName;
+	private String lastName;
+
+	public PersonSuggestionVO() {}
+
+	public PersonSuggestionVO(Long id, String firstName, String lastName) {
+		this.id = id;
+		this.firstName = firstName;
+		this.lastName = lastName;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getFirstName() {
+		return firstName;
+	}
+
+	public void setFirstName(String firstName) {
+		this.firstName = firstName;
+	}
+
+	public String getLastName() {
+		return lastName;
+	}
+
+	public void setLastName(String lastName) {
+		this.lastName = lastName;
+	}
+}
@@ -5,12 +5,13 @@ import java.util.Objects;
 
 import org.springframework.hateoas.RepresentationModel;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.github.dozermapper.core.Mapping;
 
 @JsonPropertyOrder({ "id", "firstName", "lastName", "address", "gender", "enabled" })
-public class PersonVO extends RepresentationModel<PersonVO> implements Serializable {
+public class PersonVO extends RepresentationModel<PersonVO> implements Serializable, Versioned {
 
 	private static final long serialVersionUID = 1L;
 
@@ -23,9 +24,22 @@ public class PersonVO extends RepresentationModel<PersonVO> implements Serializa
 	private String gender;
 	private Boolean enabled;
 
+	// the entity version, for the caches; not part of the representation
+	@JsonIgnore
+	private Long version;
+
 	public PersonVO() {
 	}
 
+	public PersonVO(Long key, String firstName, String lastName, String address, String gender, Boolean enabled) {
+		this.key = key;
+		this.firstName = firstName;
+		this.lastName = lastName;
+		this.address = address;
+		this.gender = gender;
+		this.enabled = enabled;
+	}
+
 	public Long getKey() {
 		return key;
 	}
@@ -74,6 +88,15 @@ public class PersonVO extends RepresentationModel<PersonVO> implements Serializa
 		this.enabled = enabled;
 	}
 
+	@Override
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
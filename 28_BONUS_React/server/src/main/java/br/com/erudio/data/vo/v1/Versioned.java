@@ -0,0 +1,7 @@
+package br.com.erudio.data.vo.v1;
+
+// A VO that knows the entity version it was read at, null when it was not read from a row.
+public interface Versioned {
+
+	Long getVersion();
+}
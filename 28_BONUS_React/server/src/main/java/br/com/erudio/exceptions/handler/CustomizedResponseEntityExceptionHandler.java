@@ -2,6 +2,7 @@ package br.com.erudio.exceptions.handler;
 
 import java.util.Date;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -10,10 +11,15 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import br.com.erudio.exceptions.BatchTooLargeException;
 import br.com.erudio.exceptions.ExceptionResponse;
+import br.com.erudio.exceptions.InvalidCursorException;
 import br.com.erudio.exceptions.InvalidJwtAuthenticationException;
 import br.com.erudio.exceptions.RequiredObjectIsNullException;
 import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.exceptions.ServiceOverloadedException;
+import br.com.erudio.exceptions.TooManyRequestsException;
+import br.com.erudio.exceptions.UnsupportedExportFormatException;
 
 @ControllerAdvice
 @RestController
@@ -43,7 +49,8 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
 		return new ResponseEntity<>(exceptionResponse, HttpStatus.NOT_FOUND);
 	}
 	
-	@ExceptionHandler(RequiredObjectIsNullException.class)
+	@ExceptionHandler({RequiredObjectIsNullException.class, InvalidCursorException.class,
+			UnsupportedExportFormatException.class})
 	public final ResponseEntity<ExceptionResponse> handleBadRequestExceptions(
 			Exception ex, WebRequest request) {
 		
@@ -55,6 +62,18 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
 		return new ResponseEntity<>(exceptionResponse, HttpStatus.BAD_REQUEST);
 	}
 	
+	@ExceptionHandler(BatchTooLargeException.class)
+	public final ResponseEntity<ExceptionResponse> handlePayloadTooLargeExceptions(
+			Exception ex, WebRequest request) {
+		
+		ExceptionResponse exceptionResponse = new ExceptionResponse(
+				new Date(),
+				ex.getMessage(),
+				request.getDescription(false));
+		
+		return new ResponseEntity<>(exceptionResponse, HttpStatus.PAYLOAD_TOO_LARGE);
+	}
+	
 	@ExceptionHandler(InvalidJwtAuthenticationException.class)
 	public final ResponseEntity<ExceptionResponse> handleInvalidJwtAuthenticationExceptions(
 			Exception ex, WebRequest request) {
@@ -66,5 +85,33 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
 		
 		return new ResponseEntity<>(exceptionResponse, HttpStatus.FORBIDDEN);
 	}
+	
+	@ExceptionHandler(ServiceOverloadedException.class)
+	public final ResponseEntity<ExceptionResponse> handleServiceOverloadedExceptions(
+			ServiceOverloadedException ex, WebRequest request) {
+		
+		ExceptionResponse exceptionResponse = new ExceptionResponse(
+				new Date(),
+				ex.getMessage(),
+				request.getDescription(false));
+		
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+				.body(exceptionResponse);
+	}
+
+	@ExceptionHandler(TooManyRequestsException.class)
+	public final ResponseEntity<ExceptionResponse> handleTooManyRequestsExceptions(
+			TooManyRequestsException ex, WebRequest request) {
+		
+		ExceptionResponse exceptionResponse = new ExceptionResponse(
+				new Date(),
+				ex.getMessage(),
+				request.getDescription(false));
+		
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+				.body(exceptionResponse);
+	}
 
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package br.com.erudio.hateoas;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+import org.springframework.hateoas.Link;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+// Builds item self links without a methodOn proxy per item. The controller base URI, which
+// depends on the host and forwarded headers of the request, is resolved once per request and
+// kept as a request attribute; an item link is that base plus "/" and the id, the mapping
+// findById has in every controller.
+@Component
+public class LinkFactory {
+
+	private static final String BASE_ATTRIBUTE = LinkFactory.class.getName() + ".base.";
+
+	public Link self(Class<?> controller, Object id) {
+		return Link.of(base(controller) + "/" + id);
+	}
+
+	public String base(Class<?> controller) {
+		var attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes == null) return resolve(controller);
+
+		var name = BASE_ATTRIBUTE + controller.getName();
+		var base = (String) attributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST);
+		if (base == null) {
+			base = resolve(controller);
+			attributes.setAttribute(name, base, RequestAttributes.SCOPE_REQUEST);
+		}
+		return base;
+	}
+
+	private String resolve(Class<?> controller) {
+		return linkTo(controller).toUri().toString();
+	}
+}
@@ -0,0 +1,98 @@
+package br.com.erudio.hateoas;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.PagedModel.PageMetadata;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.SlicedModel;
+import org.springframework.hateoas.SlicedModel.SliceMetadata;
+import org.springframework.stereotype.Component;
+
+// Turns a page of VOs into the HAL collection the listing endpoints return. Item self links
+// are added while wrapping the content, in one pass, and the navigation links are the
+// collection URI with the page number swapped into a "?page=" + n + "&size=..&direction=.."
+// template built once per call, the same parameters the controllers read. Slice links
+// carry "&withTotal=false" so following them stays on the count-free query.
+@Component
+public class PagedModelAssembler {
+
+	@Autowired
+	LinkFactory linkFactory;
+
+	public <T extends RepresentationModel<T>> PagedModel<EntityModel<T>> toPagedModel(
+			Page<T> page, Class<?> controller, Function<T, Long> key) {
+		return toPagedModel(page, controller, key, linkFactory.base(controller));
+	}
+
+	public <T extends RepresentationModel<T>> PagedModel<EntityModel<T>> toPagedModel(
+			Page<T> page, Class<?> controller, Function<T, Long> key, String collection) {
+
+		var template = new Template(collection, page.getSize(), page.getSort(), true);
+		List<Link> links = new ArrayList<>(5);
+
+		// same rules as Spring Data, first and last only when there is somewhere to go
+		boolean navigable = page.hasPrevious() || page.hasNext();
+		if (navigable) links.add(template.link(0, IanaLinkRelations.FIRST));
+		if (page.hasPrevious()) links.add(template.link(page.getNumber() - 1, IanaLinkRelations.PREV));
+		links.add(template.link(page.getNumber(), IanaLinkRelations.SELF));
+		if (page.hasNext()) links.add(template.link(page.getNumber() + 1, IanaLinkRelations.NEXT));
+		if (navigable) links.add(template.link(page.getTotalPages() - 1, IanaLinkRelations.LAST));
+
+		var metadata = new PageMetadata(page.getSize(), page.getNumber(), page.getTotalElements(), page.getTotalPages());
+		return PagedModel.of(content(page, controller, key), metadata, links);
+	}
+
+	public <T extends RepresentationModel<T>> SlicedModel<EntityModel<T>> toSlicedModel(
+			Slice<T> slice, Class<?> controller, Function<T, Long> key) {
+
+		var template = new Template(linkFactory.base(controller), slice.getSize(), slice.getSort(), false);
+		List<Link> links = new ArrayList<>(4);
+
+		if (slice.hasPrevious()) {
+			links.add(template.link(0, IanaLinkRelations.FIRST));
+			links.add(template.link(slice.getNumber() - 1, IanaLinkRelations.PREV));
+		}
+		links.add(template.link(slice.getNumber(), IanaLinkRelations.SELF));
+		if (slice.hasNext()) links.add(template.link(slice.getNumber() + 1, IanaLinkRelations.NEXT));
+
+		return SlicedModel.of(content(slice, controller, key), new SliceMetadata(slice.getSize(), slice.getNumber()), links);
+	}
+
+	private <T extends RepresentationModel<T>> List<EntityModel<T>> content(
+			Slice<T> slice, Class<?> controller, Function<T, Long> key) {
+		List<EntityModel<T>> content = new ArrayList<>(slice.getNumberOfElements());
+		for (T vo : slice.getContent()) {
+			vo.add(linkFactory.self(controller, key.apply(vo)));
+			content.add(EntityModel.of(vo));
+		}
+		return content;
+	}
+
+	private static class Template {
+
+		private final String prefix;
+		private final String suffix;
+
+		private Template(String collection, int size, Sort sort, boolean withTotal) {
+			var descending = sort.stream().findFirst().map(Sort.Order::isDescending).orElse(false);
+			prefix = collection + "?page=";
+			suffix = "&size=" + size + "&direction=" + (descending ? "desc" : "asc")
+					+ (withTotal ? "" : "&withTotal=false");
+		}
+
+		private Link link(int page, LinkRelation relation) {
+			return Link.of(prefix + page + suffix, relation);
+		}
+	}
+}
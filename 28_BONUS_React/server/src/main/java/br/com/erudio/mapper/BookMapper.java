@@ -0,0 +1,18 @@
+package br.com.erudio.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.model.Book;
+
+@Mapper
+public interface BookMapper {
+
+	@Mapping(source = "id", target = "key")
+	BookVO toVO(Book book);
+
+	@Mapping(source = "key", target = "id")
+	@Mapping(target = "version", ignore = true)
+	Book toEntity(BookVO vo);
+}
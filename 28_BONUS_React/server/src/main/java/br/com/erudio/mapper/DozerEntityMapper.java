@@ -0,0 +1,34 @@
+package br.com.erudio.mapper;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.model.Book;
+import br.com.erudio.model.Person;
+
+@Component
+@ConditionalOnProperty(name = "mapper.implementation", havingValue = "dozer")
+public class DozerEntityMapper implements EntityMapper {
+
+	@Override
+	public PersonVO toPersonVO(Person person) {
+		return DozerMapper.parseObject(person, PersonVO.class);
+	}
+
+	@Override
+	public Person toPerson(PersonVO vo) {
+		return DozerMapper.parseObject(vo, Person.class);
+	}
+
+	@Override
+	public BookVO toBookVO(Book book) {
+		return DozerMapper.parseObject(book, BookVO.class);
+	}
+
+	@Override
+	public Book toBook(BookVO vo) {
+		return DozerMapper.parseObject(vo, Book.class);
+	}
+}
@@ -0,0 +1,19 @@
+package br.com.erudio.mapper;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.model.Book;
+import br.com.erudio.model.Person;
+
+// Entity <-> VO conversions used by the services. mapper.implementation picks the
+// generated MapStruct mappers (default) or the reflective Dozer mapper.
+public interface EntityMapper {
+
+	PersonVO toPersonVO(Person person);
+
+	Person toPerson(PersonVO vo);
+
+	BookVO toBookVO(Book book);
+
+	Book toBook(BookVO vo);
+}
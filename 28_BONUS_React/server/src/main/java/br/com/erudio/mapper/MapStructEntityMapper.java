@@ -0,0 +1,38 @@
+package br.com.erudio.mapper;
+
+import org.mapstruct.factory.Mappers;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.model.Book;
+import br.com.erudio.model.Person;
+
+@Component
+@ConditionalOnProperty(name = "mapper.implementation", havingValue = "mapstruct", matchIfMissing = true)
+public class MapStructEntityMapper implements EntityMapper {
+
+	private final PersonMapper personMapper = Mappers.getMapper(PersonMapper.class);
+	private final BookMapper bookMapper = Mappers.getMapper(BookMapper.class);
+
+	@Override
+	public PersonVO toPersonVO(Person person) {
+		return personMapper.toVO(person);
+	}
+
+	@Override
+	public Person toPerson(PersonVO vo) {
+		return personMapper.toEntity(vo);
+	}
+
+	@Override
+	public BookVO toBookVO(Book book) {
+		return bookMapper.toVO(book);
+	}
+
+	@Override
+	public Book toBook(BookVO vo) {
+		return bookMapper.toEntity(vo);
+	}
+}
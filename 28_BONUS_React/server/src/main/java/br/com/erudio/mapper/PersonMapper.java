@@ -0,0 +1,18 @@
+package br.com.erudio.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.model.Person;
+
+@Mapper
+public interface PersonMapper {
+
+	@Mapping(source = "id", target = "key")
+	PersonVO toVO(Person person);
+
+	@Mapping(source = "key", target = "id")
+	@Mapping(target = "version", ignore = true)
+	Person toEntity(PersonVO vo);
+}
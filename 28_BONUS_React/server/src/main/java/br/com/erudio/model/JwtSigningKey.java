@@ -0,0 +1,120 @@
+package br.com.erudio.model;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+
+// A key pair of the RS256/ES256 key set every node shares. The public key is X.509 and the
+// private key encrypted PKCS#8, both Base64; a retired key keeps only its public half.
+@Entity
+@Table(name = "jwt_signing_key")
+public class JwtSigningKey implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@Column(length = 36)
+	private String kid;
+
+	@Column(nullable = false, length = 5)
+	private String algorithm;
+
+	@Column(name = "public_key", nullable = false, columnDefinition = "text")
+	private String publicKey;
+
+	@Column(name = "private_key", columnDefinition = "text")
+	private String privateKey;
+
+	@Column(name = "created_at", nullable = false)
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date createdAt;
+
+	@Column(name = "retired_at")
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date retiredAt;
+
+	public JwtSigningKey() {
+	}
+
+	public JwtSigningKey(String kid, String algorithm, String publicKey, String privateKey, Date createdAt) {
+		this.kid = kid;
+		this.algorithm = algorithm;
+		this.publicKey = publicKey;
+		this.privateKey = privateKey;
+		this.createdAt = createdAt;
+	}
+
+	public String getKid() {
+		return kid;
+	}
+
+	public void setKid(String kid) {
+		this.kid = kid;
+	}
+
+	public String getAlgorithm() {
+		return algorithm;
+	}
+
+	public void setAlgorithm(String algorithm) {
+		this.algorithm = algorithm;
+	}
+
+	public String getPublicKey() {
+		return publicKey;
+	}
+
+	public void setPublicKey(String publicKey) {
+		this.publicKey = publicKey;
+	}
+
+	public String getPrivateKey() {
+		return privateKey;
+	}
+
+	public void setPrivateKey(String privateKey) {
+		this.privateKey = privateKey;
+	}
+
+	public Date getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(Date createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public Date getRetiredAt() {
+		return retiredAt;
+	}
+
+	public void setRetiredAt(Date retiredAt) {
+		this.retiredAt = retiredAt;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(algorithm, createdAt, kid, privateKey, publicKey, retiredAt);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		JwtSigningKey other = (JwtSigningKey) obj;
+		return Objects.equals(algorithm, other.algorithm) && Objects.equals(createdAt, other.createdAt)
+				&& Objects.equals(kid, other.kid) && Objects.equals(privateKey, other.privateKey)
+				&& Objects.equals(publicKey, other.publicKey) && Objects.equals(retiredAt, other.retiredAt);
+	}
+}
@@ -3,8 +3,11 @@ package br.com.erudio.model;
 import java.io.Serializable;
 import java.util.Objects;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -14,6 +17,8 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "permission")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "permission")
 public class Permission implements GrantedAuthority, Serializable {
 
 	private static final long serialVersionUID = 1L;
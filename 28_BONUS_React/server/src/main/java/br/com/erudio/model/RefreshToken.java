@@ -0,0 +1,118 @@
+package br.com.erudio.model;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+
+@Entity
+@Table(name = "refresh_token")
+public class RefreshToken implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@Column(length = 36)
+	private String jti;
+
+	@Column(nullable = false, length = 36)
+	private String family;
+
+	@Column(name = "user_name", nullable = false)
+	private String userName;
+
+	@Column(name = "expires_at", nullable = false)
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date expiresAt;
+
+	@Column(nullable = false)
+	private Boolean used;
+
+	@Column(nullable = false)
+	private Boolean revoked;
+
+	public RefreshToken() {
+	}
+
+	public RefreshToken(String jti, String family, String userName, Date expiresAt) {
+		this.jti = jti;
+		this.family = family;
+		this.userName = userName;
+		this.expiresAt = expiresAt;
+		this.used = false;
+		this.revoked = false;
+	}
+
+	public String getJti() {
+		return jti;
+	}
+
+	public void setJti(String jti) {
+		this.jti = jti;
+	}
+
+	public String getFamily() {
+		return family;
+	}
+
+	public void setFamily(String family) {
+		this.family = family;
+	}
+
+	public String getUserName() {
+		return userName;
+	}
+
+	public void setUserName(String userName) {
+		this.userName = userName;
+	}
+
+	public Date getExpiresAt() {
+		return expiresAt;
+	}
+
+	public void setExpiresAt(Date expiresAt) {
+		this.expiresAt = expiresAt;
+	}
+
+	public Boolean getUsed() {
+		return used;
+	}
+
+	public void setUsed(Boolean used) {
+		this.used = used;
+	}
+
+	public Boolean getRevoked() {
+		return revoked;
+	}
+
+	public void setRevoked(Boolean revoked) {
+		this.revoked = revoked;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(expiresAt, family, jti, revoked, used, userName);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		RefreshToken other = (RefreshToken) obj;
+		return Objects.equals(expiresAt, other.expiresAt) && Objects.equals(family, other.family)
+				&& Objects.equals(jti, other.jti) && Objects.equals(revoked, other.revoked)
+				&& Objects.equals(used, other.used) && Objects.equals(userName, other.userName);
+	}
+}
@@ -3,12 +3,16 @@ package br.com.erudio.model;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -22,6 +26,8 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 public class User implements UserDetails, Serializable {
 
 	private static final long serialVersionUID = 1L;
@@ -51,9 +57,14 @@ public class User implements UserDetails, Serializable {
 	@Column(name = "enabled")
 	private Boolean enabled;
 
+	// tokens issued up to this time are rejected, see JwtRevocationList
+	@Column(name = "tokens_revoked_at")
+	private Date tokensRevokedAt;
+
 	@ManyToMany(fetch = FetchType.EAGER)
 	@JoinTable(name = "user_permission", joinColumns = { @JoinColumn(name = "id_user") }, 
 		inverseJoinColumns = {@JoinColumn(name = "id_permission") })
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-permissions")
 	private List<Permission> permissions;
 
 	public User() {
@@ -159,6 +170,14 @@ public class User implements UserDetails, Serializable {
 		this.enabled = enabled;
 	}
 
+	public Date getTokensRevokedAt() {
+		return tokensRevokedAt;
+	}
+
+	public void setTokensRevokedAt(Date tokensRevokedAt) {
+		this.tokensRevokedAt = tokensRevokedAt;
+	}
+
 	public List<Permission> getPermissions() {
 		return permissions;
 	}
@@ -1,7 +1,66 @@
 package br.com.erudio.reposirories;
 
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import br.com.erudio.data.vo.v1.BookLeanVO;
+import br.com.erudio.data.vo.v1.BookVO;
 import br.com.erudio.model.Book;
+import jakarta.persistence.QueryHint;
+
+public interface BookRepository extends JpaRepository<Book, Long>{
+
+	// read straight into the VO, no Book is hydrated or tracked by the persistence context
+	String SELECT_BOOK_VO = "SELECT new br.com.erudio.data.vo.v1.BookVO("
+			+ "b.id, b.author, b.launchDate, b.price, b.title) FROM Book b";
+
+	String SELECT_BOOK_LEAN_VO = "SELECT new br.com.erudio.data.vo.v1.BookLeanVO("
+			+ "b.id, b.author, b.launchDate, b.price, b.title) FROM Book b";
+
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+	@Query(SELECT_BOOK_VO)
+	List<BookVO> findBookVOs(Pageable pageable);
+
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+	@Query(SELECT_BOOK_VO)
+	Slice<BookVO> findBookVOSlice(Pageable pageable);
+
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+	@Query(SELECT_BOOK_LEAN_VO)
+	List<BookLeanVO> findBookLeanVOs(Pageable pageable);
+
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+	@Query(SELECT_BOOK_LEAN_VO)
+	Slice<BookLeanVO> findBookLeanVOSlice(Pageable pageable);
+
+	// streamed by Connector/J, see PersonRepository.streamPersonLeanVOs
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+	@Query(SELECT_BOOK_LEAN_VO + " ORDER BY b.id")
+	Stream<BookLeanVO> streamBookLeanVOs();
+
+	// Single statement writes, the affected row count tells whether the id exists. Bulk
+	// statements skip the @Version check, so they bump the version themselves.
+	@Modifying
+	@Query("UPDATE Book b SET b.author = :author, b.launchDate = :launchDate, b.price = :price, "
+			+ "b.title = :title, b.version = b.version + 1 WHERE b.id = :id")
+	int updateBook(@Param("id") Long id, @Param("author") String author, @Param("launchDate") Date launchDate,
+			@Param("price") Double price, @Param("title") String title);
+
+	@Modifying
+	@Query("DELETE FROM Book b WHERE b.id = :id")
+	int deleteBook(@Param("id") Long id);
 
-public interface BookRepository extends JpaRepository<Book, Long>{}
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+	@Query("SELECT b.version FROM Book b WHERE b.id = :id")
+	Long findVersionById(@Param("id") Long id);
+}
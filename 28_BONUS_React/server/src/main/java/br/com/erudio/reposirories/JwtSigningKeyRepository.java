@@ -0,0 +1,17 @@
+package br.com.erudio.reposirories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.erudio.model.JwtSigningKey;
+
+@Repository
+public interface JwtSigningKeyRepository extends JpaRepository<JwtSigningKey, String> {
+
+	@Query("SELECT k FROM JwtSigningKey k WHERE k.algorithm =:algorithm ORDER BY k.createdAt DESC")
+	List<JwtSigningKey> findByAlgorithm(@Param("algorithm") String algorithm);
+}
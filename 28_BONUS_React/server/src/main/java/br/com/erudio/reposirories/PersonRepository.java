@@ -1,20 +1,108 @@
 package br.com.erudio.reposirories;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import br.com.erudio.data.vo.v1.PersonLeanVO;
+import br.com.erudio.data.vo.v1.PersonSuggestionVO;
+import br.com.erudio.data.vo.v1.PersonVO;
 import br.com.erudio.model.Person;
+import jakarta.persistence.QueryHint;
 
 public interface PersonRepository extends JpaRepository<Person, Long>{
 
+	// read straight into the VO, no Person is hydrated or tracked by the persistence context
+	String SELECT_PERSON_VO = "SELECT new br.com.erudio.data.vo.v1.PersonVO("
+			+ "p.id, p.firstName, p.lastName, p.address, p.gender, p.enabled) FROM Person p";
+
+	String SELECT_PERSON_LEAN_VO = "SELECT new br.com.erudio.data.vo.v1.PersonLeanVO("
+			+ "p.id, p.firstName, p.lastName, p.address, p.gender, p.enabled) FROM Person p";
+
+	// Single statement writes, the affected row count tells whether the id exists. Bulk
+	// statements skip the entity listeners and the @Version check, so they bump the version.
+	@Modifying
+	@Query("UPDATE Person p SET p.enabled = false, p.version = p.version + 1 WHERE p.id =:id")
+	int disablePerson(@Param("id") Long id);
+
 	@Modifying
-	@Query("UPDATE Person p SET p.enabled = false WHERE p.id =:id")
-	void disablePerson(@Param("id") Long id);
+	@Query("UPDATE Person p SET p.firstName = :firstName, p.lastName = :lastName, p.address = :address, "
+			+ "p.gender = :gender, p.version = p.version + 1 WHERE p.id = :id")
+	int updatePerson(@Param("id") Long id, @Param("firstName") String firstName, @Param("lastName") String lastName,
+			@Param("address") String address, @Param("gender") String gender);
+
+	@Modifying
+	@Query("DELETE FROM Person p WHERE p.id = :id")
+	int deletePerson(@Param("id") Long id);
+
+	@Query(SELECT_PERSON_VO + " WHERE p.id = :id")
+	Optional<PersonVO> findPersonVOById(@Param("id") Long id);
+
+	// Terms of two or more characters go through the ngram FULLTEXT index and come back ranked
+	// by relevance, ties by first name. A single character is shorter than an ngram token, so
+	// it is matched as a prefix on the first_name index instead.
+	default Page<Person> findPersonsByName(String firstName, Pageable pageable) {
+		if (firstName.length() < 2) return findPersonsByNamePrefix(firstName, pageable);
+
+		String phrase = "\"" + firstName.replace("\"", "") + "\"";
+		return searchPersonsByName(phrase, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+	}
+
+	@Query(value = "SELECT * FROM person p WHERE MATCH(p.first_name) AGAINST(:phrase IN BOOLEAN MODE) "
+			+ "ORDER BY MATCH(p.first_name) AGAINST(:phrase IN BOOLEAN MODE) DESC, p.first_name, p.id",
+			countQuery = "SELECT COUNT(*) FROM person p WHERE MATCH(p.first_name) AGAINST(:phrase IN BOOLEAN MODE)",
+			nativeQuery = true)
+	Page<Person> searchPersonsByName(@Param("phrase") String phrase, Pageable pageable);
+
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+	@Query("SELECT p FROM Person p WHERE p.firstName LIKE CONCAT(:prefix, '%')")
+	Page<Person> findPersonsByNamePrefix(@Param("prefix") String prefix, Pageable pageable);
+
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+	@Query(SELECT_PERSON_VO)
+	List<PersonVO> findPersonVOs(Pageable pageable);
+
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+	@Query(SELECT_PERSON_VO)
+	Slice<PersonVO> findPersonVOSlice(Pageable pageable);
+
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+	@Query(SELECT_PERSON_LEAN_VO)
+	List<PersonLeanVO> findPersonLeanVOs(Pageable pageable);
+
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+	@Query(SELECT_PERSON_LEAN_VO)
+	Slice<PersonLeanVO> findPersonLeanVOSlice(Pageable pageable);
+
+	// A fetch size of Integer.MIN_VALUE has Connector/J stream the result set row by row instead
+	// of reading it whole; the stream must be consumed and closed inside a transaction.
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+	@Query(SELECT_PERSON_LEAN_VO + " ORDER BY p.id")
+	Stream<PersonLeanVO> streamPersonLeanVOs();
+
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+	@Query("SELECT p.version FROM Person p WHERE p.id = :id")
+	Long findVersionById(@Param("id") Long id);
+
+	// feeds PersonNameIndex.load: a keyset walk over the primary key, deliberately not cacheable
+	@Query("SELECT new br.com.erudio.data.vo.v1.PersonSuggestionVO(p.id, p.firstName, p.lastName) FROM Person p "
+			+ "WHERE p.id > :id ORDER BY p.id")
+	List<PersonSuggestionVO> findSuggestionsAfter(@Param("id") Long id, Pageable pageable);
+
+	@Query(SELECT_PERSON_VO + " WHERE p.firstName > :firstName OR (p.firstName = :firstName AND p.id > :id) ORDER BY p.firstName ASC, p.id ASC")
+	List<PersonVO> findPersonsAfter(@Param("firstName") String firstName, @Param("id") Long id, Pageable pageable);
 
-	@Query("SELECT p FROM Person p WHERE p.firstName LIKE LOWER(CONCAT ('%',:firstName,'%'))")
-	Page<Person> findPersonsByName(@Param("firstName") String firstName, Pageable pageable);
+	@Query(SELECT_PERSON_VO + " WHERE p.firstName < :firstName OR (p.firstName = :firstName AND p.id < :id) ORDER BY p.firstName DESC, p.id DESC")
+	List<PersonVO> findPersonsBefore(@Param("firstName") String firstName, @Param("id") Long id, Pageable pageable);
 }
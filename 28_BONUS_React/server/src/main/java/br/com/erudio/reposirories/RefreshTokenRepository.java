@@ -0,0 +1,40 @@
+package br.com.erudio.reposirories;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.erudio.model.RefreshToken;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+	@Query("SELECT r FROM RefreshToken r WHERE r.expiresAt > :now")
+	List<RefreshToken> findAlive(@Param("now") Date now);
+
+	@Transactional
+	@Modifying
+	@Query("UPDATE RefreshToken r SET r.used = true WHERE r.jti =:jti AND r.used = false AND r.revoked = false")
+	int markUsed(@Param("jti") String jti);
+
+	@Transactional
+	@Modifying
+	@Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.family =:family")
+	int revokeFamily(@Param("family") String family);
+
+	@Transactional
+	@Modifying
+	@Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.userName =:userName")
+	int revokeUser(@Param("userName") String userName);
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM RefreshToken r WHERE r.expiresAt <= :now")
+	int deleteExpired(@Param("now") Date now);
+}
@@ -1,15 +1,45 @@
 package br.com.erudio.reposirories;
 
+import java.util.Date;
+import java.util.List;
+
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import br.com.erudio.model.User;
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
 	@Query("SELECT u FROM User u WHERE u.userName =:userName")
 	User findByUsername(@Param("userName") String userName);
-}
\ No newline at end of file
+
+	@Modifying
+	@Query("UPDATE User u SET u.password =:password WHERE u.userName =:userName")
+	int updatePassword(@Param("userName") String userName, @Param("password") String password);
+
+	@Modifying
+	@Query("UPDATE User u SET u.enabled = false, u.tokensRevokedAt =:revokedAt WHERE u.userName =:userName")
+	int disableUser(@Param("userName") String userName, @Param("revokedAt") Date revokedAt);
+
+	@Modifying
+	@Query("UPDATE User u SET u.accountNonLocked = false, u.tokensRevokedAt =:revokedAt WHERE u.userName =:userName")
+	int lockUser(@Param("userName") String userName, @Param("revokedAt") Date revokedAt);
+
+	@Query("SELECT u.userName AS userName, u.tokensRevokedAt AS tokensRevokedAt FROM User u WHERE u.tokensRevokedAt > :since")
+	List<TokenRevocation> findTokensRevokedSince(@Param("since") Date since);
+
+	interface TokenRevocation {
+
+		String getUserName();
+
+		Date getTokensRevokedAt();
+	}
+}
@@ -0,0 +1,184 @@
+package br.com.erudio.search;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.erudio.data.vo.v1.PersonSuggestionVO;
+import br.com.erudio.model.Person;
+import br.com.erudio.reposirories.PersonRepository;
+
+// Answers name prefix lookups from memory. Every first and last name is lowercased into a
+// skip list ordered by (name, id), so a lookup is a seek to the first key with the prefix and
+// a walk over the next few keys, and a write touches only the keys of its person instead of
+// copying the whole index. Writes to one person are serialized by the compute on its id;
+// writes to different people and all reads run concurrently.
+@Component
+public class PersonNameIndex {
+
+	private Logger logger = Logger.getLogger(PersonNameIndex.class.getName());
+
+	@Value("${search.suggest.load-batch-size:5000}")
+	private int loadBatchSize = 5000;
+
+	@Autowired
+	private PersonRepository repository;
+
+	private final Map<Long, PersonSuggestionVO> people = new ConcurrentHashMap<>();
+
+	private final ConcurrentSkipListMap<NameKey, PersonSuggestionVO> names = new ConcurrentSkipListMap<>();
+
+	// ids removed while a load runs, so the load does not put back a row it read before the delete
+	private final Set<Long> removedWhileLoading = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean loading;
+
+	// reads id and names only, in id order, without going through the query or entity caches
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		long start = System.currentTimeMillis();
+
+		loading = true;
+		int loaded = 0;
+		long lastId = Long.MIN_VALUE;
+		List<PersonSuggestionVO> batch;
+		try {
+			do {
+				batch = repository.findSuggestionsAfter(lastId, PageRequest.of(0, loadBatchSize));
+				for (PersonSuggestionVO suggestion : batch) {
+					// people saved or removed while loading are newer than what the load read
+					people.compute(suggestion.getId(), (id, current) -> {
+						if (current != null || removedWhileLoading.contains(id)) return current;
+						index(suggestion);
+						return suggestion;
+					});
+					lastId = suggestion.getId();
+				}
+				loaded += batch.size();
+			} while (batch.size() == loadBatchSize);
+		} finally {
+			loading = false;
+			removedWhileLoading.clear();
+		}
+
+		logger.info("Indexed " + loaded + " person names in "
+				+ (System.currentTimeMillis() - start) + " ms!");
+	}
+
+	public List<PersonSuggestionVO> suggest(String prefix, int limit) {
+		List<PersonSuggestionVO> suggestions = new ArrayList<>();
+		if (prefix == null || prefix.isBlank() || limit <= 0) return suggestions;
+
+		String key = prefix.trim().toLowerCase(Locale.ROOT);
+		ConcurrentNavigableMap<NameKey, PersonSuggestionVO> tail = names.tailMap(new NameKey(key, Long.MIN_VALUE));
+		Set<Long> seen = new HashSet<>();
+		for (var entry : tail.entrySet()) {
+			if (suggestions.size() >= limit || !entry.getKey().name().startsWith(key)) break;
+			if (seen.add(entry.getKey().id())) suggestions.add(entry.getValue());
+		}
+		return suggestions;
+	}
+
+	// writes apply to the index only once their transaction has committed
+	public void putAfterCommit(Person person) {
+		var snapshot = new Person();
+		snapshot.setId(person.getId());
+		snapshot.setFirstName(person.getFirstName());
+		snapshot.setLastName(person.getLastName());
+		afterCommit(() -> put(snapshot));
+	}
+
+	public void removeAfterCommit(Long id) {
+		afterCommit(() -> remove(id));
+	}
+
+	// the new keys go in before the old ones go out, so a concurrent lookup never misses the person
+	public void put(Person person) {
+		PersonSuggestionVO suggestion = toSuggestion(person);
+		people.compute(person.getId(), (id, previous) -> {
+			removedWhileLoading.remove(id);
+			index(suggestion);
+			if (previous != null) {
+				List<NameKey> current = keys(suggestion);
+				for (NameKey key : keys(previous)) {
+					if (!current.contains(key)) names.remove(key);
+				}
+			}
+			return suggestion;
+		});
+	}
+
+	public void putAll(List<Person> persons) {
+		for (Person person : persons) put(person);
+	}
+
+	// under the same per-id lock as the load, so the tombstone and the load cannot interleave
+	public void remove(Long id) {
+		people.compute(id, (key, previous) -> {
+			if (loading) removedWhileLoading.add(key);
+			if (previous != null) {
+				for (NameKey name : keys(previous)) names.remove(name);
+			}
+			return null;
+		});
+	}
+
+	public int size() {
+		return people.size();
+	}
+
+	private void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+
+	private void index(PersonSuggestionVO suggestion) {
+		for (NameKey key : keys(suggestion)) names.put(key, suggestion);
+	}
+
+	private List<NameKey> keys(PersonSuggestionVO suggestion) {
+		List<NameKey> keys = new ArrayList<>(2);
+		if (suggestion.getFirstName() != null)
+			keys.add(new NameKey(suggestion.getFirstName().toLowerCase(Locale.ROOT), suggestion.getId()));
+		if (suggestion.getLastName() != null)
+			keys.add(new NameKey(suggestion.getLastName().toLowerCase(Locale.ROOT), suggestion.getId()));
+		return keys;
+	}
+
+	private PersonSuggestionVO toSuggestion(Person person) {
+		return new PersonSuggestionVO(person.getId(), person.getFirstName(), person.getLastName());
+	}
+
+	private record NameKey(String name, long id) implements Comparable<NameKey> {
+
+		@Override
+		public int compareTo(NameKey other) {
+			int compare = name.compareTo(other.name);
+			return compare != 0 ? compare : Long.compare(id, other.id);
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package br.com.erudio.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import br.com.erudio.model.Person;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// Hibernate creates entity listeners through the Spring bean container, so the index can
+// be injected. Bulk JPQL and JDBC writes bypass these callbacks and update the index themselves.
+public class PersonNameIndexListener {
+
+	@Autowired
+	private PersonNameIndex index;
+
+	@PostPersist
+	@PostUpdate
+	public void onSave(Person person) {
+		index.putAfterCommit(person);
+	}
+
+	@PostRemove
+	public void onRemove(Person person) {
+		index.removeAfterCommit(person.getId());
+	}
+}
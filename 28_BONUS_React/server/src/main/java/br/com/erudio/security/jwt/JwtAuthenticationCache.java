@@ -0,0 +1,148 @@
+package br.com.erudio.security.jwt;
+
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Component
+public class JwtAuthenticationCache implements MeterBinder {
+
+	private Logger logger = Logger.getLogger(JwtAuthenticationCache.class.getName());
+
+	@Value("${security.jwt.token.cache.enabled:true}")
+	private boolean enabled = true;
+
+	@Value("${security.jwt.token.cache.max-size:10000}")
+	private int maxSize = 10000;
+
+	private final Map<String, CachedAuthentication> entries = new ConcurrentHashMap<>();
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	public Authentication get(String token) {
+		if (!enabled) return null;
+
+		String key = signatureOf(token);
+		CachedAuthentication entry = entries.get(key);
+		if (entry == null) {
+			misses.increment();
+			return null;
+		}
+		if (entry.isExpired(System.currentTimeMillis())) {
+			if (entries.remove(key, entry)) evictions.increment();
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return entry.authentication();
+	}
+
+	public void put(DecodedJWT decodedJWT, Authentication authentication) {
+		if (!enabled || authentication == null) return;
+
+		Date expiresAt = decodedJWT.getExpiresAt();
+		if (expiresAt == null) return;
+
+		if (entries.size() >= maxSize) evict();
+		entries.put(decodedJWT.getSignature(), new CachedAuthentication(authentication, expiresAt.getTime()));
+	}
+
+	// Must be called whenever a user is disabled, locked or has its permissions changed,
+	// otherwise the cached principal stays valid until the token expires.
+	public void invalidate(String username) {
+		logger.info("Invalidating cached tokens of user " + username + "!");
+		entries.values().removeIf(entry -> {
+			boolean matches = entry.authentication().getName().equals(username);
+			if (matches) evictions.increment();
+			return matches;
+		});
+	}
+
+	public void invalidateAll() {
+		evictions.add(entries.size());
+		entries.clear();
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("security.jwt.cache.requests", hits, LongAdder::sum)
+			.tag("result", "hit").register(registry);
+		FunctionCounter.builder("security.jwt.cache.requests", misses, LongAdder::sum)
+			.tag("result", "miss").register(registry);
+		FunctionCounter.builder("security.jwt.cache.evictions", evictions, LongAdder::sum)
+			.register(registry);
+		Gauge.builder("security.jwt.cache.size", entries, Map::size)
+			.register(registry);
+	}
+
+	private void evict() {
+		if (!evictionLock.tryLock()) return;
+		try {
+			long now = System.currentTimeMillis();
+			entries.values().removeIf(entry -> {
+				boolean expired = entry.isExpired(now);
+				if (expired) evictions.increment();
+				return expired;
+			});
+
+			int excess = entries.size() - (maxSize - maxSize / 10);
+			if (excess > 0) {
+				entries.entrySet().stream()
+					.sorted(Comparator.comparingLong(e -> e.getValue().expiresAt()))
+					.limit(excess)
+					.map(Map.Entry::getKey)
+					.toList()
+					.forEach(key -> {
+						if (entries.remove(key) != null) evictions.increment();
+					});
+			}
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	private String signatureOf(String token) {
+		return token.substring(token.lastIndexOf('.') + 1);
+	}
+
+	private record CachedAuthentication(Authentication authentication, long expiresAt) {
+
+		boolean isExpired(long now) {
+			return expiresAt <= now;
+		}
+	}
+}
@@ -0,0 +1,338 @@
+package br.com.erudio.security.jwt;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.ECDSAKeyProvider;
+import com.auth0.jwt.interfaces.RSAKeyProvider;
+
+import br.com.erudio.model.JwtSigningKey;
+import br.com.erudio.reposirories.JwtSigningKeyRepository;
+import jakarta.annotation.PostConstruct;
+
+// Holds the RS256/ES256 key pairs when security.jwt.token.algorithm is not HS256.
+// The key set lives in the jwt_signing_key table, so every node signs with the same newest
+// key and verifies every kid any node issued, and a restart loads it instead of starting over.
+// Each node re-reads the table every refresh-interval, and right away (at most once per
+// RELOAD_BACKOFF) when a token names a kid it does not know yet. Whichever node finds the
+// active key older than rotation-interval rotates it; retired keys lose their private half
+// and stay available for verification (and in the JWKS) until every token they signed has
+// expired. Private keys are stored AES-GCM encrypted under security.jwt.token.secret-key.
+@Component
+public class JwtKeyManager {
+
+	private static final long RELOAD_BACKOFF = 5000;
+
+	private Logger logger = Logger.getLogger(JwtKeyManager.class.getName());
+
+	@Value("${security.jwt.token.algorithm:HS256}")
+	private String algorithmName = "HS256";
+
+	@Value("${security.jwt.token.expire-length:3600000}")
+	private long validityInMilliseconds = 3600000;
+
+	@Value("${security.jwt.token.secret-key:secret}")
+	private String secretKey = "secret";
+
+	@Value("${security.jwt.keys.rotation-interval:86400000}")
+	private long rotationInterval = 86400000;
+
+	@Autowired
+	private JwtSigningKeyRepository repository;
+
+	private final SecureRandom random = new SecureRandom();
+
+	private volatile List<SigningKey> keys = List.of();
+	private volatile Algorithm signingAlgorithm;
+	private volatile Map<String, Object> jwks = Map.of("keys", List.of());
+	private volatile long loadedAt;
+
+	private Algorithm verificationAlgorithm;
+
+	@PostConstruct
+	protected void init() {
+		if (!isAsymmetric()) return;
+
+		verificationAlgorithm = "ES256".equals(algorithmName)
+				? Algorithm.ECDSA256(new StoreECDSAKeyProvider(null))
+				: Algorithm.RSA256(new StoreRSAKeyProvider(null));
+		refresh();
+	}
+
+	public boolean isAsymmetric() {
+		return "RS256".equals(algorithmName) || "ES256".equals(algorithmName);
+	}
+
+	public Algorithm getSigningAlgorithm() {
+		return signingAlgorithm;
+	}
+
+	public Algorithm getVerificationAlgorithm() {
+		return verificationAlgorithm;
+	}
+
+	public Map<String, Object> getJwks() {
+		return jwks;
+	}
+
+	// picks up what other nodes wrote, and rotates once the active key is due
+	@Scheduled(initialDelayString = "${security.jwt.keys.refresh-interval:60000}",
+			fixedDelayString = "${security.jwt.keys.refresh-interval:60000}")
+	public synchronized void refresh() {
+		if (!isAsymmetric()) return;
+
+		load();
+		SigningKey active = keys.stream().filter(SigningKey::isActive).findFirst().orElse(null);
+		if (active == null || active.createdAt() + rotationInterval <= System.currentTimeMillis()) rotate();
+	}
+
+	public synchronized void rotate() {
+		if (!isAsymmetric()) return;
+
+		long now = System.currentTimeMillis();
+		// a refresh token lives three times as long as an access token
+		long retention = validityInMilliseconds * 3;
+
+		KeyPair keyPair = generate();
+		String kid = UUID.randomUUID().toString();
+		repository.save(new JwtSigningKey(kid, algorithmName, encode(keyPair.getPublic().getEncoded()),
+				encrypt(keyPair.getPrivate().getEncoded()), new Date(now)));
+
+		for (JwtSigningKey stored : repository.findByAlgorithm(algorithmName)) {
+			if (stored.getKid().equals(kid)) continue;
+			if (stored.getRetiredAt() == null) {
+				stored.setRetiredAt(new Date(now));
+				stored.setPrivateKey(null);
+				repository.save(stored);
+			} else if (stored.getRetiredAt().getTime() + retention <= now) {
+				repository.delete(stored);
+			}
+		}
+		load();
+
+		logger.info("Rotated JWT signing key, active kid is " + kid + "!");
+	}
+
+	private synchronized void load() {
+		long now = System.currentTimeMillis();
+		long retention = validityInMilliseconds * 3;
+
+		List<SigningKey> loaded = new ArrayList<>();
+		for (JwtSigningKey stored : repository.findByAlgorithm(algorithmName)) {
+			long retiredAt = stored.getRetiredAt() == null ? 0 : stored.getRetiredAt().getTime();
+			if (retiredAt != 0 && retiredAt + retention <= now) continue;
+			try {
+				loaded.add(decode(stored, retiredAt));
+			} catch (GeneralSecurityException | IllegalArgumentException e) {
+				logger.warning("Could not load JWT signing key " + stored.getKid() + ": " + e.getMessage());
+			}
+		}
+		SigningKey active = loaded.stream().filter(SigningKey::isActive).findFirst().orElse(null);
+
+		keys = List.copyOf(loaded);
+		if (active != null) {
+			signingAlgorithm = "ES256".equals(algorithmName)
+					? Algorithm.ECDSA256(new StoreECDSAKeyProvider(active))
+					: Algorithm.RSA256(new StoreRSAKeyProvider(active));
+		}
+		jwks = Map.of("keys", keys.stream().map(this::toJwk).toList());
+		loadedAt = now;
+	}
+
+	private KeyPair generate() {
+		try {
+			KeyPairGenerator generator;
+			if ("ES256".equals(algorithmName)) {
+				generator = KeyPairGenerator.getInstance("EC");
+				generator.initialize(new ECGenParameterSpec("secp256r1"));
+			} else {
+				generator = KeyPairGenerator.getInstance("RSA");
+				generator.initialize(2048);
+			}
+			return generator.generateKeyPair();
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Could not generate a " + algorithmName + " signing key!", e);
+		}
+	}
+
+	private SigningKey decode(JwtSigningKey stored, long retiredAt) throws GeneralSecurityException {
+		KeyFactory factory = KeyFactory.getInstance("ES256".equals(algorithmName) ? "EC" : "RSA");
+		PublicKey publicKey = factory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(stored.getPublicKey())));
+		PrivateKey privateKey = stored.getPrivateKey() == null ? null
+				: factory.generatePrivate(new PKCS8EncodedKeySpec(decrypt(stored.getPrivateKey())));
+		return new SigningKey(stored.getKid(), publicKey, privateKey, stored.getCreatedAt().getTime(), retiredAt);
+	}
+
+	// AES-GCM under a key derived from the shared secret, stored as Base64 of iv then ciphertext
+	private String encrypt(byte[] plain) {
+		try {
+			byte[] iv = new byte[12];
+			random.nextBytes(iv);
+			Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+			cipher.init(Cipher.ENCRYPT_MODE, encryptionKey(), new GCMParameterSpec(128, iv));
+			byte[] encrypted = cipher.doFinal(plain);
+			return encode(ByteBuffer.allocate(iv.length + encrypted.length).put(iv).put(encrypted).array());
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Could not encrypt the JWT signing key!", e);
+		}
+	}
+
+	private byte[] decrypt(String stored) throws GeneralSecurityException {
+		byte[] bytes = Base64.getDecoder().decode(stored);
+		Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+		cipher.init(Cipher.DECRYPT_MODE, encryptionKey(), new GCMParameterSpec(128, bytes, 0, 12));
+		return cipher.doFinal(bytes, 12, bytes.length - 12);
+	}
+
+	private SecretKeySpec encryptionKey() throws GeneralSecurityException {
+		byte[] digest = MessageDigest.getInstance("SHA-256").digest(secretKey.getBytes(StandardCharsets.UTF_8));
+		return new SecretKeySpec(digest, "AES");
+	}
+
+	private String encode(byte[] bytes) {
+		return Base64.getEncoder().encodeToString(bytes);
+	}
+
+	private SigningKey find(String kid) {
+		if (kid == null) return null;
+		SigningKey key = lookup(kid);
+		if (key == null && System.currentTimeMillis() - loadedAt > RELOAD_BACKOFF) {
+			// most likely another node rotated since the last refresh
+			load();
+			key = lookup(kid);
+		}
+		return key;
+	}
+
+	private SigningKey lookup(String kid) {
+		for (SigningKey key : keys) {
+			if (key.kid().equals(kid)) return key;
+		}
+		return null;
+	}
+
+	private Map<String, Object> toJwk(SigningKey key) {
+		Map<String, Object> jwk = new LinkedHashMap<>();
+		jwk.put("kid", key.kid());
+		jwk.put("use", "sig");
+		jwk.put("alg", algorithmName);
+		if (key.publicKey() instanceof ECPublicKey ec) {
+			jwk.put("kty", "EC");
+			jwk.put("crv", "P-256");
+			jwk.put("x", base64Url(ec.getW().getAffineX(), 32));
+			jwk.put("y", base64Url(ec.getW().getAffineY(), 32));
+		} else {
+			RSAPublicKey rsa = (RSAPublicKey) key.publicKey();
+			jwk.put("kty", "RSA");
+			jwk.put("n", base64Url(rsa.getModulus(), 0));
+			jwk.put("e", base64Url(rsa.getPublicExponent(), 0));
+		}
+		return jwk;
+	}
+
+	// JWK integers are unsigned big-endian, EC coordinates are left padded to the curve size
+	private String base64Url(BigInteger value, int length) {
+		byte[] bytes = value.toByteArray();
+		if (bytes.length > 1 && bytes[0] == 0) bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+		if (bytes.length < length) {
+			byte[] padded = new byte[length];
+			System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+			bytes = padded;
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+
+	private record SigningKey(String kid, PublicKey publicKey, PrivateKey privateKey, long createdAt, long retiredAt) {
+
+		boolean isActive() {
+			return retiredAt == 0 && privateKey != null;
+		}
+	}
+
+	// With a signing key the provider is pinned to it, so kid and signature always match
+	// even if a rotation happens while a token is being signed.
+	private class StoreRSAKeyProvider implements RSAKeyProvider {
+
+		private final SigningKey signingKey;
+
+		private StoreRSAKeyProvider(SigningKey signingKey) {
+			this.signingKey = signingKey;
+		}
+
+		@Override
+		public RSAPublicKey getPublicKeyById(String kid) {
+			SigningKey key = find(kid);
+			return key == null ? null : (RSAPublicKey) key.publicKey();
+		}
+
+		@Override
+		public RSAPrivateKey getPrivateKey() {
+			return signingKey == null ? null : (RSAPrivateKey) signingKey.privateKey();
+		}
+
+		@Override
+		public String getPrivateKeyId() {
+			return signingKey == null ? null : signingKey.kid();
+		}
+	}
+
+	private class StoreECDSAKeyProvider implements ECDSAKeyProvider {
+
+		private final SigningKey signingKey;
+
+		private StoreECDSAKeyProvider(SigningKey signingKey) {
+			this.signingKey = signingKey;
+		}
+
+		@Override
+		public ECPublicKey getPublicKeyById(String kid) {
+			SigningKey key = find(kid);
+			return key == null ? null : (ECPublicKey) key.publicKey();
+		}
+
+		@Override
+		public ECPrivateKey getPrivateKey() {
+			return signingKey == null ? null : (ECPrivateKey) signingKey.privateKey();
+		}
+
+		@Override
+		public String getPrivateKeyId() {
+			return signingKey == null ? null : signingKey.kid();
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package br.com.erudio.security.jwt;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.erudio.reposirories.UserRepository;
+
+// Revocations are written to users.tokens_revoked_at by UserServices and polled from there,
+// so a user disabled or locked on one node is rejected by every node within one poll interval.
+@Component
+public class JwtRevocationList {
+
+	private Logger logger = Logger.getLogger(JwtRevocationList.class.getName());
+
+	@Value("${security.jwt.token.revocation.enabled:true}")
+	private boolean enabled = true;
+
+	// Tokens issued before the revocation are expired after one access token lifetime,
+	// so there is no need to remember the revocation any longer than that.
+	@Value("${security.jwt.token.revocation.ttl:${security.jwt.token.expire-length:3600000}}")
+	private long ttlInMilliseconds = 3600000;
+
+	@Autowired
+	private JwtAuthenticationCache authenticationCache;
+
+	@Autowired
+	private RefreshTokenStore refreshTokenStore;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private final Map<String, Long> revokedAt = new ConcurrentHashMap<>();
+
+	public JwtRevocationList(JwtAuthenticationCache authenticationCache, RefreshTokenStore refreshTokenStore) {
+		this.authenticationCache = authenticationCache;
+		this.refreshTokenStore = refreshTokenStore;
+	}
+
+	public void revoke(String username) {
+		revoke(username, new Date());
+	}
+
+	public void revoke(String username, Date time) {
+		logger.info("Revoking tokens of user " + username + "!");
+		long now = System.currentTimeMillis();
+		revokedAt.values().removeIf(revoked -> revoked + ttlInMilliseconds < now);
+		if (enabled) revokedAt.merge(username, time.getTime(), Math::max);
+		authenticationCache.invalidate(username);
+		refreshTokenStore.revokeUser(username);
+	}
+
+	// Picks up the revocations made on the other nodes; the whole ttl is read every time,
+	// so a restarted node and a node with a skewed clock still see them.
+	@Scheduled(fixedDelayString = "${security.jwt.token.revocation.poll-interval:5000}")
+	public void poll() {
+		if (!enabled || userRepository == null) return;
+
+		Date since = new Date(System.currentTimeMillis() - ttlInMilliseconds);
+		for (var revocation : userRepository.findTokensRevokedSince(since)) {
+			String username = revocation.getUserName();
+			long time = revocation.getTokensRevokedAt().getTime();
+			Long previous = revokedAt.get(username);
+			if (previous != null && previous >= time) continue;
+
+			revokedAt.merge(username, time, Math::max);
+			authenticationCache.invalidate(username);
+		}
+	}
+
+	public boolean isRevoked(String username, Date issuedAt) {
+		if (!enabled || revokedAt.isEmpty()) return false;
+
+		Long time = revokedAt.get(username);
+		if (time == null) return false;
+		if (time + ttlInMilliseconds < System.currentTimeMillis()) {
+			revokedAt.remove(username, time);
+			return false;
+		}
+		// iat has second precision, so a token issued in the same second is revoked as well
+		return issuedAt == null || issuedAt.getTime() <= time;
+	}
+
+	public int size() {
+		return revokedAt.size();
+	}
+}
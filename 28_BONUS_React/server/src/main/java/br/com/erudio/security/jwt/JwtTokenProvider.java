@@ -3,11 +3,15 @@ package br.com.erudio.security.jwt;
 import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
@@ -32,22 +36,46 @@ public class JwtTokenProvider {
 	@Value("${security.jwt.token.expire-length:3600000}")
 	private long validityInMilliseconds = 3600000; // 1h
 
+	// "database" reloads the user on every request, "claims" trusts the sub and roles claims
+	@Value("${security.jwt.token.authentication-mode:database}")
+	private String authenticationMode = "database";
+
 	@Autowired
 	private UserDetailsService userDetailsService;
 
+	@Autowired
+	private JwtRevocationList revocationList;
+
+	@Autowired
+	private RefreshTokenStore refreshTokenStore;
+
+	@Autowired
+	private JwtKeyManager keyManager;
+
 	Algorithm algorithm = null;
 
+	JWTVerifier verifier = null;
+
 	@PostConstruct
 	protected void init() {
 		secretKey = Base64.getEncoder().encodeToString(secretKey.getBytes());
 		algorithm = Algorithm.HMAC256(secretKey.getBytes());
+		verifier = JWT.require(keyManager.isAsymmetric() ? keyManager.getVerificationAlgorithm() : algorithm).build();
+	}
+
+	private Algorithm signingAlgorithm() {
+		return keyManager.isAsymmetric() ? keyManager.getSigningAlgorithm() : algorithm;
 	}
 
 	public TokenVO createAccessToken(String username, List<String> roles) {
+		return createAccessToken(username, roles, UUID.randomUUID().toString());
+	}
+
+	private TokenVO createAccessToken(String username, List<String> roles, String family) {
 		Date now = new Date();
 		Date validity = new Date(now.getTime() + validityInMilliseconds);
 		var accessToken = getAccessToken(username, roles, now, validity);
-		var refreshToken = getRefreshToken(username, roles, now);
+		var refreshToken = getRefreshToken(username, roles, now, family);
 
 		return new TokenVO(username, true, now, validity, accessToken, refreshToken);
 	}
@@ -56,36 +84,62 @@ public class JwtTokenProvider {
 		if (refreshToken.contains("Bearer "))
 			refreshToken = refreshToken.substring("Bearer ".length());
 
-		JWTVerifier verifier = JWT.require(algorithm).build();
 		DecodedJWT decodedJWT = verifier.verify(refreshToken);
 		String username = decodedJWT.getSubject();
+		if (revocationList.isRevoked(username, decodedJWT.getIssuedAt()))
+			throw new InvalidJwtAuthenticationException("Revoked JWT refresh token!");
+
+		String family = decodedJWT.getClaim("family").asString();
+		if (refreshTokenStore.rotate(decodedJWT.getId(), family) != RefreshTokenStore.Rotation.ROTATED)
+			throw new InvalidJwtAuthenticationException("Invalid or already used JWT refresh token!");
+
 		List<String> roles = decodedJWT.getClaim("roles").asList(String.class);
-		return createAccessToken(username, roles);
+		return createAccessToken(username, roles, family);
 	}
 
 	private String getAccessToken(String username, List<String> roles, Date now, Date validity) {
 		String issuerUrl = ServletUriComponentsBuilder.fromCurrentContextPath().build().toUriString();
 		return JWT.create().withClaim("roles", roles).withIssuedAt(now).withExpiresAt(validity).withSubject(username)
-				.withIssuer(issuerUrl).sign(algorithm).strip();
+				.withIssuer(issuerUrl).sign(signingAlgorithm()).strip();
 	}
 
-	private String getRefreshToken(String username, List<String> roles, Date now) {
+	private String getRefreshToken(String username, List<String> roles, Date now, String family) {
 		Date validityRefreshToken = new Date(now.getTime() + (validityInMilliseconds * 3));
-		return JWT.create().withClaim("roles", roles).withIssuedAt(now).withExpiresAt(validityRefreshToken)
-				.withSubject(username).sign(algorithm).strip();
+		String jti = UUID.randomUUID().toString();
+		String refreshToken = JWT.create().withJWTId(jti).withClaim("family", family).withClaim("roles", roles)
+				.withIssuedAt(now).withExpiresAt(validityRefreshToken).withSubject(username).sign(signingAlgorithm()).strip();
+		refreshTokenStore.issue(jti, family, username, validityRefreshToken);
+		return refreshToken;
 	}
 
 	public Authentication getAuthentication(String token) {
-		DecodedJWT decodedJWT = decodedToken(token);
+		return getAuthentication(decodedToken(token));
+	}
+
+	public Authentication getAuthentication(DecodedJWT decodedJWT) {
+		if (revocationList.isRevoked(decodedJWT.getSubject(), decodedJWT.getIssuedAt())) {
+			return null;
+		}
+		if ("claims".equalsIgnoreCase(authenticationMode)) {
+			return getAuthenticationFromClaims(decodedJWT);
+		}
 		UserDetails userDetails = this.userDetailsService.loadUserByUsername(decodedJWT.getSubject());
 		return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
 	}
 
-	private DecodedJWT decodedToken(String token) {
-		Algorithm alg = Algorithm.HMAC256(secretKey.getBytes());
-		JWTVerifier verifier = JWT.require(alg).build();
-		DecodedJWT decodedJWT = verifier.verify(token);
-		return decodedJWT;
+	private Authentication getAuthenticationFromClaims(DecodedJWT decodedJWT) {
+		List<String> roles = decodedJWT.getClaim("roles").asList(String.class);
+		List<GrantedAuthority> authorities = roles == null ? List.of()
+				: roles.stream().<GrantedAuthority>map(SimpleGrantedAuthority::new).toList();
+		UserDetails userDetails = User.withUsername(decodedJWT.getSubject())
+				.password("")
+				.authorities(authorities)
+				.build();
+		return new UsernamePasswordAuthenticationToken(userDetails, "", authorities);
+	}
+
+	public DecodedJWT decodedToken(String token) {
+		return verifier.verify(token);
 	}
 
 	public String resolveToken(HttpServletRequest req) {
@@ -100,7 +154,10 @@ public class JwtTokenProvider {
 	}
 
 	public boolean validateToken(String token) {
-		DecodedJWT decodedJWT = decodedToken(token);
+		return validateToken(decodedToken(token));
+	}
+
+	public boolean validateToken(DecodedJWT decodedJWT) {
 		try {
 			if (decodedJWT.getExpiresAt().before(new Date())) {
 				return false;
@@ -0,0 +1,242 @@
+package br.com.erudio.security.jwt;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.erudio.model.RefreshToken;
+import br.com.erudio.reposirories.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Tracks every refresh token that was handed out. A refresh token can be exchanged only
+// once; presenting it a second time means it leaked, so its whole family (every token
+// rotated from the same signin) is revoked. Tokens are indexed by jti over lock stripes and
+// revoked families live in a concurrent map, so both checks are O(1); the families of each
+// user are indexed as well, so revoking a user does not scan the stripes.
+// With persistence enabled the refresh_token table is the source of truth shared by every
+// node: a jti this node has not seen is read from it, and a rotation only succeeds if the
+// conditional update that marks the row used does, so the same token cannot be exchanged
+// on two nodes.
+@Component
+public class RefreshTokenStore implements MeterBinder {
+
+	public enum Rotation { ROTATED, UNKNOWN, REUSED, REVOKED }
+
+	private static final int STRIPES = 64;
+
+	private Logger logger = Logger.getLogger(RefreshTokenStore.class.getName());
+
+	@Value("${security.jwt.token.expire-length:3600000}")
+	private long validityInMilliseconds = 3600000;
+
+	@Value("${security.jwt.refresh.persistence.enabled:false}")
+	private boolean persistenceEnabled = false;
+
+	@Autowired
+	private RefreshTokenRepository repository;
+
+	private final Stripe[] stripes = new Stripe[STRIPES];
+	private final Map<String, Long> revokedFamilies = new ConcurrentHashMap<>();
+	// username -> family -> expiry of the newest token of the family
+	private final Map<String, Map<String, Long>> familiesByUser = new ConcurrentHashMap<>();
+
+	private Counter reuseCounter;
+
+	public RefreshTokenStore() {
+		for (int i = 0; i < STRIPES; i++) {
+			stripes[i] = new Stripe();
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		if (!persistenceEnabled) return;
+
+		List<RefreshToken> tokens = repository.findAlive(new Date());
+		for (RefreshToken token : tokens) {
+			cache(token);
+		}
+		logger.info("Loaded " + tokens.size() + " refresh tokens!");
+	}
+
+	public void issue(String jti, String family, String username, Date expiresAt) {
+		Stripe stripe = stripeFor(jti);
+		synchronized (stripe) {
+			stripe.entries.put(jti, new Entry(family, username, expiresAt.getTime()));
+		}
+		index(username, family, expiresAt.getTime());
+		if (persistenceEnabled) {
+			repository.save(new RefreshToken(jti, family, username, expiresAt));
+		}
+	}
+
+	public Rotation rotate(String jti, String family) {
+		if (jti == null || family == null) return Rotation.UNKNOWN;
+		if (isRevoked(family)) return Rotation.REVOKED;
+
+		Entry entry = find(jti);
+		if (entry == null || !entry.family.equals(family)) return Rotation.UNKNOWN;
+		if (isRevoked(family)) return Rotation.REVOKED;
+
+		boolean reused;
+		Stripe stripe = stripeFor(jti);
+		synchronized (stripe) {
+			reused = entry.used;
+			entry.used = true;
+		}
+		// another node may have exchanged or revoked the token since this node read it
+		if (!reused && persistenceEnabled && repository.markUsed(jti) == 0) {
+			var token = repository.findById(jti).orElse(null);
+			if (token == null) return Rotation.UNKNOWN;
+			if (token.getRevoked()) {
+				revokedFamilies.merge(family, token.getExpiresAt().getTime(), Math::max);
+				return Rotation.REVOKED;
+			}
+			reused = true;
+		}
+
+		if (reused) {
+			logger.warning("Refresh token reuse detected, revoking family " + family + "!");
+			if (reuseCounter != null) reuseCounter.increment();
+			revokeFamily(family);
+			return Rotation.REUSED;
+		}
+		return Rotation.ROTATED;
+	}
+
+	public boolean isRevoked(String family) {
+		return revokedFamilies.containsKey(family);
+	}
+
+	public void revokeFamily(String family) {
+		// no token of the family can outlive a refresh token issued right now
+		revokedFamilies.put(family, System.currentTimeMillis() + validityInMilliseconds * 3);
+		if (persistenceEnabled) {
+			repository.revokeFamily(family);
+		}
+	}
+
+	public void revokeUser(String username) {
+		List<String> families = new ArrayList<>();
+		familiesByUser.computeIfPresent(username, (key, userFamilies) -> {
+			families.addAll(userFamilies.keySet());
+			return userFamilies;
+		});
+		long expiresAt = System.currentTimeMillis() + validityInMilliseconds * 3;
+		families.forEach(family -> revokedFamilies.put(family, expiresAt));
+		if (persistenceEnabled) {
+			repository.revokeUser(username);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${security.jwt.refresh.purge-interval:600000}")
+	public void purgeExpired() {
+		long now = System.currentTimeMillis();
+		for (Stripe stripe : stripes) {
+			synchronized (stripe) {
+				stripe.entries.values().removeIf(entry -> entry.expiresAt <= now);
+			}
+		}
+		revokedFamilies.values().removeIf(expiresAt -> expiresAt <= now);
+		for (String username : familiesByUser.keySet()) {
+			familiesByUser.computeIfPresent(username, (key, userFamilies) -> {
+				userFamilies.values().removeIf(expiresAt -> expiresAt <= now);
+				return userFamilies.isEmpty() ? null : userFamilies;
+			});
+		}
+		if (persistenceEnabled) {
+			repository.deleteExpired(new Date(now));
+		}
+	}
+
+	public int size() {
+		int size = 0;
+		for (Stripe stripe : stripes) {
+			synchronized (stripe) {
+				size += stripe.entries.size();
+			}
+		}
+		return size;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("security.jwt.refresh.tokens", this, RefreshTokenStore::size)
+			.register(registry);
+		Gauge.builder("security.jwt.refresh.revoked.families", revokedFamilies, Map::size)
+			.register(registry);
+		reuseCounter = Counter.builder("security.jwt.refresh.reuse")
+			.description("Refresh tokens presented more than once")
+			.register(registry);
+	}
+
+	private Entry find(String jti) {
+		Stripe stripe = stripeFor(jti);
+		synchronized (stripe) {
+			Entry entry = stripe.entries.get(jti);
+			if (entry != null || !persistenceEnabled) return entry;
+		}
+		// issued by another node, or before this node started
+		var token = repository.findById(jti).orElse(null);
+		if (token == null || token.getExpiresAt().getTime() <= System.currentTimeMillis()) return null;
+		return cache(token);
+	}
+
+	private Entry cache(RefreshToken token) {
+		Entry entry = new Entry(token.getFamily(), token.getUserName(), token.getExpiresAt().getTime());
+		entry.used = token.getUsed();
+		Stripe stripe = stripeFor(token.getJti());
+		synchronized (stripe) {
+			Entry current = stripe.entries.putIfAbsent(token.getJti(), entry);
+			if (current != null) return current;
+		}
+		index(entry.username, entry.family, entry.expiresAt);
+		if (token.getRevoked()) {
+			revokedFamilies.merge(token.getFamily(), entry.expiresAt, Math::max);
+		}
+		return entry;
+	}
+
+	private void index(String username, String family, long expiresAt) {
+		familiesByUser.compute(username, (key, userFamilies) -> {
+			if (userFamilies == null) userFamilies = new HashMap<>();
+			userFamilies.merge(family, expiresAt, Math::max);
+			return userFamilies;
+		});
+	}
+
+	private Stripe stripeFor(String jti) {
+		return stripes[jti.hashCode() & (STRIPES - 1)];
+	}
+
+	private static class Stripe {
+		private final Map<String, Entry> entries = new HashMap<>();
+	}
+
+	private static class Entry {
+		private final String family;
+		private final String username;
+		private final long expiresAt;
+		private boolean used;
+
+		private Entry(String family, String username, long expiresAt) {
+			this.family = family;
+			this.username = username;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
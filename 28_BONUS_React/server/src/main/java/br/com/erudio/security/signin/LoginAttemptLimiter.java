@@ -0,0 +1,208 @@
+package br.com.erudio.security.signin;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.erudio.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Counts failed sign ins per username and per client IP over a sliding window. Once a key
+// has max-attempts failures inside its window the next attempt is rejected before any
+// password is hashed. Each key keeps only a fixed long[] ring of its last max-attempts
+// attempt times.
+// An attempt takes its slot in both windows before the password is checked, under both
+// window locks, so a concurrent burst gets no more than max-attempts through; a success or
+// a cancelled attempt gives the slot back, a failure keeps it.
+@Component
+public class LoginAttemptLimiter implements MeterBinder {
+
+	private static final Attempt UNLIMITED = new Attempt(null, null, 0);
+
+	@Value("${security.signin.throttle.enabled:true}")
+	private boolean enabled = true;
+
+	@Value("${security.signin.throttle.username.max-attempts:5}")
+	private int usernameMaxAttempts = 5;
+
+	@Value("${security.signin.throttle.username.window:300000}")
+	private long usernameWindowInMilliseconds = 300000;
+
+	@Value("${security.signin.throttle.ip.max-attempts:20}")
+	private int ipMaxAttempts = 20;
+
+	@Value("${security.signin.throttle.ip.window:60000}")
+	private long ipWindowInMilliseconds = 60000;
+
+	private final Map<String, Window> usernames = new ConcurrentHashMap<>();
+	private final Map<String, Window> ips = new ConcurrentHashMap<>();
+
+	private Counter throttledCounter;
+
+	// the username window is always locked before the IP one, so two attempts cannot deadlock
+	public Attempt acquire(String username, String clientIp) {
+		if (!enabled) return UNLIMITED;
+
+		String usernameKey = key(username);
+		String ipKey = clientIp == null ? "" : clientIp;
+		while (true) {
+			Window usernameWindow = usernames.computeIfAbsent(usernameKey, k -> new Window(usernameMaxAttempts));
+			Window ipWindow = ips.computeIfAbsent(ipKey, k -> new Window(ipMaxAttempts));
+			synchronized (usernameWindow) {
+				synchronized (ipWindow) {
+					// purged between the lookup and the lock, look the key up again
+					if (usernameWindow.purged || ipWindow.purged) continue;
+
+					long now = System.currentTimeMillis();
+					long retryAfter = Math.max(
+							usernameWindow.retryAfter(usernameWindowInMilliseconds, now),
+							ipWindow.retryAfter(ipWindowInMilliseconds, now));
+					if (retryAfter > 0) {
+						if (throttledCounter != null) throttledCounter.increment();
+						throw new TooManyRequestsException("Too many failed sign in attempts, please try again later!",
+								(retryAfter + 999) / 1000);
+					}
+					usernameWindow.add(now);
+					ipWindow.add(now);
+					return new Attempt(usernameWindow, ipWindow, now);
+				}
+			}
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${security.signin.throttle.purge-interval:60000}")
+	public void purgeIdle() {
+		long now = System.currentTimeMillis();
+		purgeIdle(usernames, usernameWindowInMilliseconds, now);
+		purgeIdle(ips, ipWindowInMilliseconds, now);
+	}
+
+	public int size() {
+		return usernames.size() + ips.size();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		throttledCounter = Counter.builder("auth.signin.throttled")
+				.description("Sign in attempts rejected because of too many recent failures")
+				.register(registry);
+		Gauge.builder("auth.signin.throttle.keys", this, LoginAttemptLimiter::size)
+				.register(registry);
+	}
+
+	private void purgeIdle(Map<String, Window> windows, long windowInMilliseconds, long now) {
+		windows.forEach((key, window) -> {
+			synchronized (window) {
+				if (!window.isIdle(windowInMilliseconds, now)) return;
+				window.purged = true;
+				windows.remove(key, window);
+			}
+		});
+	}
+
+	// the database collation is case insensitive, so "Leandro" and "leandro" share a window
+	private String key(String username) {
+		return username == null ? "" : username.toLowerCase(Locale.ROOT);
+	}
+
+	// A sign in that holds a slot in its username and IP windows until it is settled.
+	public static class Attempt {
+
+		private final Window usernameWindow;
+		private final Window ipWindow;
+		private final long startedAt;
+		private boolean settled;
+
+		private Attempt(Window usernameWindow, Window ipWindow, long startedAt) {
+			this.usernameWindow = usernameWindow;
+			this.ipWindow = ipWindow;
+			this.startedAt = startedAt;
+			this.settled = usernameWindow == null;
+		}
+
+		// a valid password proves the user is not being guessed, so the username window is
+		// cleared; the IP only gets this attempt back
+		public synchronized void succeeded() {
+			if (settled) return;
+			settled = true;
+			synchronized (usernameWindow) {
+				usernameWindow.clear();
+			}
+			synchronized (ipWindow) {
+				ipWindow.remove(startedAt);
+			}
+		}
+
+		// the password was never checked, e.g. the hashing pool was full
+		public synchronized void cancel() {
+			if (settled) return;
+			settled = true;
+			synchronized (usernameWindow) {
+				usernameWindow.remove(startedAt);
+			}
+			synchronized (ipWindow) {
+				ipWindow.remove(startedAt);
+			}
+		}
+	}
+
+	private static class Window {
+
+		private final long[] attempts;
+		private int head;
+		private int count;
+		private boolean purged;
+
+		private Window(int capacity) {
+			this.attempts = new long[Math.max(1, capacity)];
+		}
+
+		// milliseconds until the oldest attempt leaves the window and frees a slot, 0 if one is free
+		private long retryAfter(long windowInMilliseconds, long now) {
+			while (count > 0 && now - attempts[head] >= windowInMilliseconds) {
+				head = (head + 1) % attempts.length;
+				count--;
+			}
+			if (count < attempts.length) return 0;
+			return attempts[head] + windowInMilliseconds - now;
+		}
+
+		// only called once retryAfter has found a free slot
+		private void add(long now) {
+			attempts[slot(count)] = now;
+			count++;
+		}
+
+		// the newer attempts shift down over the given one, so the ring never holds gaps
+		private void remove(long startedAt) {
+			for (int i = count - 1; i >= 0; i--) {
+				if (attempts[slot(i)] != startedAt) continue;
+				for (int j = i; j < count - 1; j++) {
+					attempts[slot(j)] = attempts[slot(j + 1)];
+				}
+				count--;
+				return;
+			}
+		}
+
+		private void clear() {
+			head = 0;
+			count = 0;
+		}
+
+		private boolean isIdle(long windowInMilliseconds, long now) {
+			return count == 0 || now - attempts[slot(count - 1)] >= windowInMilliseconds;
+		}
+
+		private int slot(int index) {
+			return (head + index) % attempts.length;
+		}
+	}
+}
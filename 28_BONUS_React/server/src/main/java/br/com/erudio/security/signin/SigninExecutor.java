@@ -0,0 +1,114 @@
+package br.com.erudio.security.signin;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import br.com.erudio.exceptions.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Runs the password hashing of /auth/signin on a small dedicated pool, so a burst of
+// logins is bounded to pool-size CPUs and queue-capacity waiting requests instead of
+// taking every Tomcat worker. Anything beyond that is rejected right away.
+// PBKDF2, bcrypt and argon2 never check the interrupt flag, so cancelling a timed out task
+// only helps while it is still queued: one already hashing keeps its thread until the hash
+// is done. The timeout therefore has to cover a full queue, about
+// (queue-capacity / pool-size + 1) hashes, or callers time out on work that still runs.
+@Component
+public class SigninExecutor {
+
+	private Logger logger = Logger.getLogger(SigninExecutor.class.getName());
+
+	@Value("${security.signin.executor.pool-size:2}")
+	private int poolSize = 2;
+
+	@Value("${security.signin.executor.queue-capacity:32}")
+	private int queueCapacity = 32;
+
+	@Value("${security.signin.executor.timeout:10000}")
+	private long timeoutInMilliseconds = 10000;
+
+	// sent as Retry-After with the 503 of a full queue or a timeout
+	@Value("${security.signin.executor.retry-after:1}")
+	private long retryAfterSeconds = 1;
+
+	private final MeterRegistry registry;
+
+	private ThreadPoolExecutor executor;
+	private Timer hashTimer;
+	private Timer queueWaitTimer;
+	private Counter rejectedCounter;
+
+	public SigninExecutor(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	@PostConstruct
+	protected void init() {
+		executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("signin-"),
+				new ThreadPoolExecutor.AbortPolicy());
+
+		hashTimer = Timer.builder("auth.signin.hash")
+				.description("Time spent verifying credentials")
+				.register(registry);
+		queueWaitTimer = Timer.builder("auth.signin.queue.wait")
+				.description("Time a sign in waited for a hashing thread")
+				.register(registry);
+		rejectedCounter = Counter.builder("auth.signin.rejected")
+				.description("Sign in attempts rejected because the hashing queue was full")
+				.register(registry);
+		Gauge.builder("auth.signin.queue.depth", executor, e -> e.getQueue().size())
+				.register(registry);
+	}
+
+	public <T> T execute(Supplier<T> task) {
+		long submittedAt = System.nanoTime();
+		Future<T> future;
+		try {
+			future = executor.submit(() -> {
+				queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+				return hashTimer.record(task);
+			});
+		} catch (RejectedExecutionException e) {
+			rejectedCounter.increment();
+			logger.warning("Sign in queue is full, rejecting attempt!");
+			throw new ServiceOverloadedException("Too many sign in attempts, please try again later!", retryAfterSeconds);
+		}
+
+		try {
+			return future.get(timeoutInMilliseconds, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			// dequeues the task if it has not started, a running hash is not interrupted
+			future.cancel(true);
+			throw new ServiceOverloadedException("Sign in timed out, please try again later!", retryAfterSeconds);
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new ServiceOverloadedException("Sign in interrupted, please try again later!", retryAfterSeconds);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException cause) throw cause;
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	@PreDestroy
+	protected void shutdown() {
+		executor.shutdown();
+	}
+}
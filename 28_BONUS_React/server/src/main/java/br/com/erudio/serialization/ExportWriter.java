@@ -0,0 +1,154 @@
+package br.com.erudio.serialization;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import javax.xml.namespace.QName;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+
+import br.com.erudio.exceptions.UnsupportedExportFormatException;
+import br.com.erudio.util.MediaType;
+
+// Serializes the rows of an export as they come off the stream, each one written to the
+// generator's buffer and let go before the next row is read, so the heap holds one row and a
+// buffer whatever the size of the table. The output stream is left open for the caller.
+// Jackson flushes after every value by default, and the XML writer underneath flushes on its
+// own as well; on a servlet stream each flush is a network write, so the stream is flushed
+// once, after the last row.
+@Component
+public class ExportWriter {
+
+	public enum Format {
+
+		NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+		CSV(MediaType.TEXT_CSV, "csv"),
+		XML(MediaType.APPLICATION_XML, "xml");
+
+		private final String mediaType;
+		private final String extension;
+
+		Format(String mediaType, String extension) {
+			this.mediaType = mediaType;
+			this.extension = extension;
+		}
+
+		public String getMediaType() {
+			return mediaType;
+		}
+
+		public String getExtension() {
+			return extension;
+		}
+
+		// by extension or name, as the format parameter of an export job gives it
+		public static Format of(String name) {
+			for (Format format : values()) {
+				if (format.extension.equalsIgnoreCase(name) || format.name().equalsIgnoreCase(name)) return format;
+			}
+			throw new UnsupportedExportFormatException("Exports are written as ndjson, csv or xml, not " + name + "!");
+		}
+
+		// the first type of the Accept header that one of the formats matches, NDJSON for none
+		public static Format negotiate(String accept) {
+			if (accept == null || accept.isBlank()) return NDJSON;
+			for (var accepted : org.springframework.http.MediaType.parseMediaTypes(accept)) {
+				if (accepted.getQualityValue() == 0) continue;
+				for (Format format : values()) {
+					if (accepted.includes(org.springframework.http.MediaType.parseMediaType(format.mediaType))) return format;
+				}
+			}
+			return NDJSON;
+		}
+	}
+
+	private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+			.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+			.build();
+
+	private static final XmlMapper XML_MAPPER = XmlMapper.builder()
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+			.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+			.build();
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	// root and element name the XML document and each row in it, the other formats have neither
+	public <T> long write(Stream<T> rows, Class<T> type, Format format, String root, String element,
+			OutputStream out) throws IOException {
+
+		if (format == Format.XML) return writeXml(rows.iterator(), root, element, out);
+
+		long count = 0;
+		try (SequenceWriter writer = sequenceWriter(type, format, out)) {
+			for (Iterator<T> it = rows.iterator(); it.hasNext(); count++) writer.write(it.next());
+		}
+		if (format == Format.NDJSON && count > 0) out.write('\n');
+		out.flush();
+		return count;
+	}
+
+	private <T> SequenceWriter sequenceWriter(Class<T> type, Format format, OutputStream out) throws IOException {
+		if (format == Format.CSV) {
+			return CSV_MAPPER.writerFor(type).with(CSV_MAPPER.schemaFor(type).withHeader()).writeValues(out);
+		}
+		return objectMapper.writerFor(type)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+				.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+				.withRootValueSeparator("\n")
+				.writeValues(out);
+	}
+
+	// an XML document has a single root, so the rows are written as its fields one by one
+	private <T> long writeXml(Iterator<T> rows, String root, String element, OutputStream out) throws IOException {
+		long count = 0;
+		try (ToXmlGenerator generator = XML_MAPPER.getFactory().createGenerator(new NoFlushOutputStream(out))) {
+			generator.setNextName(new QName(root));
+			generator.writeStartObject();
+			for (; rows.hasNext(); count++) {
+				generator.writeFieldName(element);
+				XML_MAPPER.writeValue(generator, rows.next());
+			}
+			generator.writeEndObject();
+		}
+		out.flush();
+		return count;
+	}
+
+	// Woodstox flushes its target whenever its buffer fills, whatever Jackson is told
+	private static class NoFlushOutputStream extends FilterOutputStream {
+
+		private NoFlushOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
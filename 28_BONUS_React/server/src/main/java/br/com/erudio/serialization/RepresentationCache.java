@@ -0,0 +1,191 @@
+package br.com.erudio.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.erudio.data.vo.v1.Versioned;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+
+// Keeps the encoded body of single resource GETs keyed by resource, id, entity version and
+// negotiated media type. The same four values make a strong ETag, so a matching
+// If-None-Match is answered with 304 before the service runs, and since every write bumps
+// the version, bytes of an old version are never served again. The body holds absolute
+// links, so the key also has the base URI of the request they were built from.
+@Component
+public class RepresentationCache implements MeterBinder {
+
+	private static final List<MediaType> SUPPORTED_MEDIA_TYPES = List.of(
+			MediaType.valueOf(br.com.erudio.util.MediaType.APPLICATION_JSON),
+			MediaType.valueOf(br.com.erudio.util.MediaType.APPLICATION_XML),
+			MediaType.valueOf(br.com.erudio.util.MediaType.APPLICATION_YML));
+
+	@Value("${representation.cache.max-bytes:67108864}")
+	private long maxBytes = 67108864;
+
+	@Value("${representation.cache.ttl:600000}")
+	private long ttlInMilliseconds = 600000;
+
+	@Autowired
+	private ContentNegotiationManager contentNegotiationManager;
+
+	// the adapter holds the converters as configured by WebConfig, YAML included
+	@Lazy
+	@Autowired
+	private RequestMappingHandlerAdapter handlerAdapter;
+
+	private Cache<Key, byte[]> cache;
+
+	@PostConstruct
+	protected void init() {
+		cache = Caffeine.newBuilder()
+				.maximumWeight(maxBytes)
+				.weigher((Key key, byte[] body) -> body.length)
+				.expireAfterAccess(ttlInMilliseconds, TimeUnit.MILLISECONDS)
+				.recordStats()
+				.build();
+	}
+
+	public ResponseEntity<byte[]> respond(String resource, Long id, Long version, Supplier<?> loader) {
+		var request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+		var mediaType = negotiate(new ServletWebRequest(request));
+
+		// unknown id, let the service answer with its usual 404
+		if (version == null) {
+			return ResponseEntity.ok().contentType(mediaType).body(encode(loader.get(), mediaType));
+		}
+
+		var etag = "\"" + resource + "-" + id + "-" + version + "-" + mediaType.getSubtype() + "\"";
+		if (matches(request, etag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+					.eTag(etag)
+					.header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+					.build();
+		}
+
+		// a row written since its version was read comes back newer; its bytes are served once,
+		// without an ETag, instead of being cached under the older version
+		var newer = new byte[1][];
+		var base = ServletUriComponentsBuilder.fromContextPath(request).toUriString();
+		var body = cache.get(new Key(base, resource, id, version, mediaType.toString()), key -> {
+			var loaded = loader.get();
+			var encoded = encode(loaded, mediaType);
+			if (loaded instanceof Versioned versioned && versioned.getVersion() != null
+					&& !version.equals(versioned.getVersion())) {
+				newer[0] = encoded;
+				return null;
+			}
+			return encoded;
+		});
+		if (body == null) {
+			return ResponseEntity.ok()
+					.contentType(mediaType)
+					.header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+					.body(newer[0]);
+		}
+		return ResponseEntity.ok()
+				.contentType(mediaType)
+				.eTag(etag)
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+				.body(body);
+	}
+
+	public long size() {
+		return cache.estimatedSize();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, cache, "representations");
+	}
+
+	private boolean matches(HttpServletRequest request, String etag) {
+		var headers = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+		while (headers.hasMoreElements()) {
+			for (String candidate : headers.nextElement().split(",")) {
+				candidate = candidate.trim();
+				// If-None-Match uses the weak comparison
+				if (candidate.startsWith("W/")) candidate = candidate.substring(2);
+				if (candidate.equals("*") || candidate.equals(etag)) return true;
+			}
+		}
+		return false;
+	}
+
+	private MediaType negotiate(ServletWebRequest webRequest) {
+		try {
+			for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(webRequest)) {
+				for (MediaType supported : SUPPORTED_MEDIA_TYPES) {
+					if (accepted.isCompatibleWith(supported)) return supported;
+				}
+			}
+		} catch (HttpMediaTypeNotAcceptableException e) {
+			// answered below like any other unsupported Accept header
+		}
+		throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE);
+	}
+
+	@SuppressWarnings("unchecked")
+	private byte[] encode(Object body, MediaType mediaType) {
+		for (HttpMessageConverter<?> converter : handlerAdapter.getMessageConverters()) {
+			if (!converter.canWrite(body.getClass(), mediaType)) continue;
+
+			var output = new BufferedOutputMessage();
+			try {
+				((HttpMessageConverter<Object>) converter).write(body, mediaType, output);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return output.body.toByteArray();
+		}
+		throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE);
+	}
+
+	private record Key(String base, String resource, Long id, Long version, String mediaType) {}
+
+	private static class BufferedOutputMessage implements HttpOutputMessage {
+
+		private final HttpHeaders headers = new HttpHeaders();
+		private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+		@Override
+		public OutputStream getBody() {
+			return body;
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return headers;
+		}
+	}
+}
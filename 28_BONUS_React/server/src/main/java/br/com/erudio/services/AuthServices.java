@@ -10,8 +10,11 @@ import org.springframework.stereotype.Service;
 
 import br.com.erudio.data.vo.v1.security.AccountCredentialsVO;
 import br.com.erudio.data.vo.v1.security.TokenVO;
+import br.com.erudio.exceptions.ServiceOverloadedException;
 import br.com.erudio.reposirories.UserRepository;
 import br.com.erudio.security.jwt.JwtTokenProvider;
+import br.com.erudio.security.signin.LoginAttemptLimiter;
+import br.com.erudio.security.signin.SigninExecutor;
 
 @Service
 public class AuthServices {
@@ -25,13 +28,27 @@ public class AuthServices {
 	@Autowired
 	private UserRepository repository;
 
+	@Autowired
+	private SigninExecutor signinExecutor;
+
+	@Autowired
+	private LoginAttemptLimiter loginAttemptLimiter;
+
 	@SuppressWarnings("rawtypes")
-	public ResponseEntity signin(AccountCredentialsVO data) {
+	public ResponseEntity signin(AccountCredentialsVO data, String clientIp) {
+		var username = data.getUsername();
+		// a failed password keeps the slot the attempt took
+		var attempt = loginAttemptLimiter.acquire(username, clientIp);
 		try {
-			var username = data.getUsername();
 			var password = data.getPassword();
-			authenticationManager.authenticate(
-					new UsernamePasswordAuthenticationToken(username, password));
+			try {
+				signinExecutor.execute(() -> authenticationManager.authenticate(
+						new UsernamePasswordAuthenticationToken(username, password)));
+			} catch (ServiceOverloadedException e) {
+				attempt.cancel();
+				throw e;
+			}
+			attempt.succeeded();
 
 			var user = repository.findByUsername(username);
 
@@ -42,6 +59,8 @@ public class AuthServices {
 				throw new UsernameNotFoundException("Username " + username + " not found!");
 			}
 			return ResponseEntity.ok(tokenResponse);
+		} catch (ServiceOverloadedException e) {
+			throw e;
 		} catch (Exception e) {
 			throw new BadCredentialsException("Invalid username/password supplied!");
 		}
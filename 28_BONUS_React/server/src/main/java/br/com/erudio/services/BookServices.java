@@ -1,56 +1,117 @@
 package br.com.erudio.services;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
 import java.util.logging.Logger;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.Link;
-import org.springframework.hateoas.PagedModel;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.erudio.controllers.BookController;
-import br.com.erudio.controllers.PersonController;
+import br.com.erudio.data.vo.v1.BatchItemResultVO;
+import br.com.erudio.data.vo.v1.BookLeanVO;
 import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.LeanPageVO;
 import br.com.erudio.exceptions.RequiredObjectIsNullException;
 import br.com.erudio.exceptions.ResourceNotFoundException;
-import br.com.erudio.mapper.DozerMapper;
+import br.com.erudio.hateoas.LinkFactory;
+import br.com.erudio.hateoas.PagedModelAssembler;
+import br.com.erudio.mapper.EntityMapper;
 import br.com.erudio.model.Book;
 import br.com.erudio.reposirories.BookRepository;
+import br.com.erudio.serialization.ExportWriter;
+import br.com.erudio.serialization.ExportWriter.Format;
 
 @Service
 public class BookServices {
 
+	private static final String INSERT_BOOK = "INSERT INTO books "
+			+ "(author, launch_date, price, title, version) VALUES (?, ?, ?, ?, 0)";
+
+	private static final String UPDATE_BOOK = "UPDATE books "
+			+ "SET author = ?, launch_date = ?, price = ?, title = ?, version = version + 1 WHERE id = ?";
+
 	private Logger logger = Logger.getLogger(BookServices.class.getName());
 
 	@Autowired
 	BookRepository repository;
 
 	@Autowired
-	PagedResourcesAssembler<BookVO> assembler;
+	PagedModelAssembler assembler;
+
+	@Autowired
+	EntityMapper mapper;
+
+	@Autowired
+	LinkFactory linkFactory;
+
+	@Autowired
+	CountCache countCache;
+
+	@Autowired
+	JdbcBatchWriter batchWriter;
+
+	@Autowired
+	ExportWriter exportWriter;
 
-	public PagedModel<EntityModel<BookVO>> findAll(Pageable pageable) {
+	@Transactional(readOnly = true)
+	public CollectionModel<EntityModel<BookVO>> findAll(Pageable pageable, boolean withTotal) {
 
 		logger.info("Finding all Books!");
 		
-		var bookPage = repository.findAll(pageable);
-		
-		var booksVosPage = bookPage.map(b -> DozerMapper.parseObject(b, BookVO.class));
-		booksVosPage.map(
-			b -> b.add(linkTo(methodOn(BookController.class)
-				.findById(b.getKey())).withSelfRel()));
-
-		Link link = linkTo(methodOn(PersonController.class)
-			.findAll(
-				pageable.getPageNumber(),
-				pageable.getPageSize(),
-				"asc")).withSelfRel();
+		if (!withTotal) {
+			var booksVosSlice = repository.findBookVOSlice(pageable);
+			return assembler.toSlicedModel(booksVosSlice, BookController.class, BookVO::getKey);
+		}
 		
-		return assembler.toModel(booksVosPage, link);
+		var booksVosPage = PageableExecutionUtils.getPage(
+				repository.findBookVOs(pageable), pageable, () -> countCache.get("book", repository::count));
+		return assembler.toPagedModel(booksVosPage, BookController.class, BookVO::getKey);
+	}
+
+	@Transactional(readOnly = true)
+	public LeanPageVO<BookLeanVO> findAllLean(Pageable pageable, boolean withTotal) {
+
+		logger.info("Finding all Books, lean!");
+
+		if (!withTotal) return LeanPageVO.of(repository.findBookLeanVOSlice(pageable));
+
+		return LeanPageVO.of(PageableExecutionUtils.getPage(
+				repository.findBookLeanVOs(pageable), pageable, () -> countCache.get("book", repository::count)));
+	}
+
+	// streamed row by row in a read-only transaction, see PersonServices.exportPeople
+	@Transactional(readOnly = true)
+	public long exportBooks(Format format, OutputStream out) throws IOException {
+
+		logger.info("Exporting all Books!");
+
+		try (var books = repository.streamBookLeanVOs()) {
+			return exportWriter.write(books, BookLeanVO.class, format, "books", "book", out);
+		}
+	}
+
+	public Long findVersion(Long id) {
+		return repository.findVersionById(id);
+	}
+
+	// Read through the bookVO cache, keyed by the version the caller has just read, so a write,
+	// which bumps the version, needs no eviction, and by the base URI the self link is built on.
+	// A row written in between comes back at its newer version and is not cached.
+	@Cacheable(value = "bookVO", condition = "#version != null", unless = "#result.version != #version",
+			key = "{#id, #version, @linkFactory.base(T(br.com.erudio.controllers.BookController))}")
+	public BookVO findById(Long id, Long version) {
+		return findById(id);
 	}
 
 	public BookVO findById(Long id) {
@@ -60,9 +121,9 @@ public class BookServices {
 		var entity = repository.findById(id)
 				.orElseThrow(() -> new ResourceNotFoundException("No records found fo this ID!"));
 
-		var vo = DozerMapper.parseObject(entity, BookVO.class);
+		var vo = mapper.toBookVO(entity);
 
-		vo.add(linkTo(methodOn(BookController.class).findById(id)).withSelfRel());
+		vo.add(linkFactory.self(BookController.class, id));
 
 		return vo;
 	}
@@ -74,14 +135,45 @@ public class BookServices {
 
 		logger.info("Creating all Books!");
 
-		var entity = DozerMapper.parseObject(book, Book.class);
-		var vo = DozerMapper.parseObject(repository.save(entity), BookVO.class);
+		var entity = mapper.toBook(book);
+		var vo = mapper.toBookVO(repository.save(entity));
+		countCache.evict("book");
 
-		vo.add(linkTo(methodOn(BookController.class).findById(vo.getKey())).withSelfRel());
+		vo.add(linkFactory.self(BookController.class, vo.getKey()));
 
 		return vo;
 	}
 
+	public List<BatchItemResultVO> createBatch(List<BookVO> books) {
+
+		if (books == null || books.isEmpty())
+			throw new RequiredObjectIsNullException();
+
+		logger.info("Creating a batch of " + books.size() + " Books!");
+
+		var results = batchWriter.insert(INSERT_BOOK, books, this::validate, this::bindColumns);
+		countCache.evict("book");
+
+		return results;
+	}
+
+	public List<BatchItemResultVO> updateBatch(List<BookVO> books) {
+
+		if (books == null || books.isEmpty())
+			throw new RequiredObjectIsNullException();
+
+		logger.info("Updating a batch of " + books.size() + " Books!");
+
+		return batchWriter.update(Book.class, UPDATE_BOOK, books, BookVO::getKey, this::validate,
+				(ps, book) -> {
+					bindColumns(ps, book);
+					ps.setLong(5, book.getKey());
+				});
+	}
+
+	// One UPDATE, the response is the request itself; the version it bumps keeps the bookVO
+	// cache from serving the row as it was.
+	@Transactional
 	public BookVO update(BookVO book) {
 
 		if (book == null)
@@ -89,28 +181,40 @@ public class BookServices {
 
 		logger.info("Updating all Books!");
 
-		var entity = repository.findById(book.getKey())
-				.orElseThrow(() -> new ResourceNotFoundException("No records found fo this ID!"));
-
-		entity.setAuthor(book.getAuthor());
-		entity.setLaunchDate(book.getLaunchDate());
-		entity.setPrice(book.getPrice());
-		entity.setTitle(book.getTitle());
+		int updated = repository.updateBook(book.getKey(),
+				book.getAuthor(), book.getLaunchDate(), book.getPrice(), book.getTitle());
+		if (updated == 0) throw new ResourceNotFoundException("No records found fo this ID!");
 
-		var vo = DozerMapper.parseObject(repository.save(entity), BookVO.class);
+		var vo = new BookVO(book.getKey(), book.getAuthor(), book.getLaunchDate(), book.getPrice(), book.getTitle());
 
-		vo.add(linkTo(methodOn(BookController.class).findById(vo.getKey())).withSelfRel());
+		vo.add(linkFactory.self(BookController.class, vo.getKey()));
 
 		return vo;
 	}
 
+	@Transactional
 	public void delete(Long id) {
 
 		logger.info("Deleting one book!");
 
-		var entity = repository.findById(id)
-				.orElseThrow(() -> new ResourceNotFoundException("No records found fo this ID!"));
+		if (repository.deleteBook(id) == 0)
+			throw new ResourceNotFoundException("No records found fo this ID!");
+
+		countCache.evict("book");
+	}
+
+	private String validate(BookVO book) {
+		var invalid = JdbcBatchWriter.checkText("author", book.getAuthor(), 180);
+		if (invalid == null) invalid = JdbcBatchWriter.checkText("title", book.getTitle(), 250);
+		if (invalid == null && book.getLaunchDate() == null) invalid = "launchDate is required";
+		if (invalid == null && book.getPrice() == null) invalid = "price is required";
+		return invalid;
+	}
 
-		repository.delete(entity);
+	private void bindColumns(PreparedStatement ps, BookVO book) throws SQLException {
+		ps.setString(1, book.getAuthor());
+		ps.setTimestamp(2, new Timestamp(book.getLaunchDate().getTime()));
+		ps.setDouble(3, book.getPrice());
+		ps.setString(4, book.getTitle());
 	}
 }
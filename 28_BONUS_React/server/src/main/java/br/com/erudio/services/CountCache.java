@@ -0,0 +1,35 @@
+package br.com.erudio.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Keeps the total row count of a listing for a short while, so paging through it does not
+// run a COUNT(*) per page. Creates and deletes evict the count of what they touched.
+@Component
+public class CountCache {
+
+	@Value("${pagination.count-cache.ttl:30000}")
+	private long ttlInMilliseconds = 30000;
+
+	private final Map<String, Entry> counts = new ConcurrentHashMap<>();
+
+	public long get(String key, LongSupplier counter) {
+		long now = System.currentTimeMillis();
+		Entry entry = counts.get(key);
+		if (entry != null && entry.expiresAt > now) return entry.count;
+
+		long count = counter.getAsLong();
+		counts.put(key, new Entry(count, now + ttlInMilliseconds));
+		return count;
+	}
+
+	public void evict(String key) {
+		counts.remove(key);
+	}
+
+	private record Entry(long count, long expiresAt) {}
+}
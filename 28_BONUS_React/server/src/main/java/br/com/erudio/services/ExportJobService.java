@@ -0,0 +1,206 @@
+package br.com.erudio.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import br.com.erudio.data.vo.v1.ExportJobVO;
+import br.com.erudio.data.vo.v1.ExportJobVO.Status;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.exceptions.ServiceOverloadedException;
+import br.com.erudio.serialization.ExportWriter.Format;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Runs exports that would outlive an HTTP request. Each job streams its table, as the export
+// endpoints do, into a gzip file under the upload directory, where FileController serves it
+// with Range support so a broken download can resume. Jobs run on a small dedicated pool with
+// a bounded queue, anything beyond it is rejected right away. Jobs are kept in memory and
+// their files deleted ttl after they finish; files left over from before a restart go by age.
+@Service
+public class ExportJobService {
+
+	private static final String FILE_PREFIX = "export-";
+
+	private Logger logger = Logger.getLogger(ExportJobService.class.getName());
+
+	@Value("${export.jobs.pool-size:2}")
+	private int poolSize = 2;
+
+	@Value("${export.jobs.queue-capacity:8}")
+	private int queueCapacity = 8;
+
+	// seconds a client rejected by a full queue is asked to wait, roughly the time a job takes
+	@Value("${export.jobs.retry-after:30}")
+	private long retryAfterSeconds = 30;
+
+	@Value("${export.jobs.ttl:86400000}")
+	private long ttlInMilliseconds = 86400000;
+
+	@Autowired
+	FileStorageService fileStorageService;
+
+	@Autowired
+	PersonServices personServices;
+
+	@Autowired
+	BookServices bookServices;
+
+	private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+	private ThreadPoolExecutor executor;
+
+	@PostConstruct
+	protected void init() {
+		executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("export-"),
+				new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	public ExportJobVO start(String resource, Format format) {
+
+		if (!"person".equals(resource) && !"book".equals(resource))
+			throw new ResourceNotFoundException("No export for " + resource + "!");
+
+		var job = new Job(UUID.randomUUID().toString(), resource, format);
+		jobs.put(job.id, job);
+		try {
+			executor.execute(() -> run(job));
+		} catch (RejectedExecutionException e) {
+			jobs.remove(job.id);
+			logger.warning("Export queue is full, rejecting job!");
+			throw new ServiceOverloadedException("Too many exports running, please try again later!",
+					retryAfterSeconds);
+		}
+		logger.info("Queued export job " + job.id + " of " + resource + "!");
+		return job.toVO();
+	}
+
+	public ExportJobVO findById(String id) {
+		var job = jobs.get(id);
+		if (job == null) throw new ResourceNotFoundException("No export job found for this ID!");
+		return job.toVO();
+	}
+
+	// written to a .part file first, so a file under its final name is always complete
+	private void run(Job job) {
+		job.status = Status.RUNNING;
+
+		var fileName = FILE_PREFIX + job.id + "." + job.format.getExtension() + ".gz";
+		Path target = fileStorageService.getFileStorageLocation().resolve(fileName);
+		Path part = target.resolveSibling(fileName + ".part");
+		try {
+			long rows;
+			try (var out = new GZIPOutputStream(Files.newOutputStream(part), 65536)) {
+				rows = export(job.resource, job.format, out);
+			}
+			Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+
+			job.rows = rows;
+			job.size = Files.size(target);
+			job.fileName = fileName;
+			job.completedAt = System.currentTimeMillis();
+			job.status = Status.COMPLETED;
+			logger.info("Export job " + job.id + " wrote " + rows + " rows!");
+		} catch (Exception e) {
+			logger.warning("Export job " + job.id + " failed: " + e.getMessage());
+			try {
+				Files.deleteIfExists(part);
+			} catch (IOException ignored) {
+				// the purge takes it once it is old enough
+			}
+			job.error = e.getMessage();
+			job.completedAt = System.currentTimeMillis();
+			job.status = Status.FAILED;
+		}
+	}
+
+	private long export(String resource, Format format, OutputStream out) throws IOException {
+		return "person".equals(resource)
+				? personServices.exportPeople(format, out)
+				: bookServices.exportBooks(format, out);
+	}
+
+	@Scheduled(fixedDelayString = "${export.jobs.purge-interval:600000}")
+	public void purgeExpired() {
+		long now = System.currentTimeMillis();
+		jobs.values().removeIf(job -> job.completedAt != 0 && job.completedAt + ttlInMilliseconds <= now);
+
+		try (var files = Files.newDirectoryStream(fileStorageService.getFileStorageLocation(), FILE_PREFIX + "*")) {
+			for (Path file : files) {
+				if (Files.getLastModifiedTime(file).toMillis() + ttlInMilliseconds > now) continue;
+				Files.deleteIfExists(file);
+				logger.info("Deleted expired export " + file.getFileName() + "!");
+			}
+		} catch (IOException e) {
+			logger.warning("Could not purge expired exports: " + e.getMessage());
+		}
+	}
+
+	@PreDestroy
+	protected void shutdown() {
+		executor.shutdownNow();
+	}
+
+	// written by the job's thread and read by status requests, each read takes a snapshot
+	private class Job {
+
+		private final String id;
+		private final String resource;
+		private final Format format;
+		private final long createdAt = System.currentTimeMillis();
+
+		private volatile Status status = Status.QUEUED;
+		private volatile long rows;
+		private volatile long size;
+		private volatile long completedAt;
+		private volatile String error;
+		private volatile String fileName;
+
+		private Job(String id, String resource, Format format) {
+			this.id = id;
+			this.resource = resource;
+			this.format = format;
+		}
+
+		private ExportJobVO toVO() {
+			var vo = new ExportJobVO();
+			vo.setId(id);
+			vo.setResource(resource);
+			vo.setFormat(format.getExtension());
+			vo.setCreatedAt(new Date(createdAt));
+			// status is written last by the job, once it is read the other fields are current
+			var current = status;
+			vo.setStatus(current);
+			if (current == Status.COMPLETED) {
+				vo.setRows(rows);
+				vo.setSize(size);
+				vo.setFileName(fileName);
+			}
+			if (current == Status.FAILED) vo.setError(error);
+			if (current == Status.COMPLETED || current == Status.FAILED) {
+				vo.setCompletedAt(new Date(completedAt));
+				vo.setExpiresAt(new Date(completedAt + ttlInMilliseconds));
+			}
+			return vo;
+		}
+	}
+}
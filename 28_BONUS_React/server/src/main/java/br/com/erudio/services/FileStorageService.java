@@ -36,6 +36,10 @@ public class FileStorageService {
 		}
 	}
 	
+	public Path getFileStorageLocation() {
+		return fileStorageLocation;
+	}
+
 	public String storeFile(MultipartFile file) {
 		String filename = StringUtils.cleanPath(file.getOriginalFilename());
 		
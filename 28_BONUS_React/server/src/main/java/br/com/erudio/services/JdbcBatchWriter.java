@@ -0,0 +1,161 @@
+package br.com.erudio.services;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.erudio.data.vo.v1.BatchItemResultVO;
+import br.com.erudio.data.vo.v1.BatchItemResultVO.Status;
+import br.com.erudio.exceptions.BatchTooLargeException;
+import jakarta.persistence.EntityManagerFactory;
+
+// Writes the items of a batch request through plain JDBC, batch.chunk-size rows per
+// executeBatch and one transaction per chunk. With rewriteBatchedStatements on the datasource
+// the driver sends a chunk of inserts as one multi-row INSERT and still hands back every
+// generated key, so the IDENTITY ids of the entities can stay. A failed chunk is rolled back and
+// its items reported as FAILED, the chunks after it are still written. Hibernate never sees
+// these rows, so the second-level and query caches are evicted here for what was written.
+@Component
+public class JdbcBatchWriter {
+
+	private Logger logger = Logger.getLogger(JdbcBatchWriter.class.getName());
+
+	@FunctionalInterface
+	public interface Binder<T> {
+		void bind(PreparedStatement ps, T item) throws SQLException;
+	}
+
+	@FunctionalInterface
+	private interface ChunkWriter {
+		void write(Connection connection, List<Integer> chunk, BatchItemResultVO[] results) throws SQLException;
+	}
+
+	@Value("${batch.chunk-size:500}")
+	private int chunkSize = 500;
+
+	@Value("${batch.max-items:10000}")
+	private int maxItems = 10000;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	public <T> List<BatchItemResultVO> insert(String sql, List<T> items,
+			Function<T, String> validator, Binder<T> binder) {
+
+		var results = write(items, validator, (connection, chunk, chunkResults) -> {
+			try (var ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+				for (int i : chunk) {
+					binder.bind(ps, items.get(i));
+					ps.addBatch();
+				}
+				ps.executeBatch();
+				try (var keys = ps.getGeneratedKeys()) {
+					for (int i : chunk) {
+						if (!keys.next()) throw new SQLException("The driver returned fewer keys than rows inserted");
+						chunkResults[i] = new BatchItemResultVO(i, keys.getLong(1), Status.CREATED, null);
+					}
+				}
+			}
+		});
+
+		if (results.stream().anyMatch(r -> r.getStatus() == Status.CREATED)) {
+			entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+		}
+		return results;
+	}
+
+	public <T> List<BatchItemResultVO> update(Class<?> entity, String sql, List<T> items,
+			Function<T, Long> key, Function<T, String> validator, Binder<T> binder) {
+
+		Function<T, String> withKey = item -> key.apply(item) == null ? "id is required" : validator.apply(item);
+		var results = write(items, withKey, (connection, chunk, chunkResults) -> {
+			try (var ps = connection.prepareStatement(sql)) {
+				for (int i : chunk) {
+					binder.bind(ps, items.get(i));
+					ps.addBatch();
+				}
+				int[] counts = ps.executeBatch();
+				for (int n = 0; n < chunk.size(); n++) {
+					int i = chunk.get(n);
+					var status = counts[n] == 0 ? Status.NOT_FOUND : Status.UPDATED;
+					chunkResults[i] = new BatchItemResultVO(i, key.apply(items.get(i)), status, null);
+				}
+			}
+		});
+
+		boolean updated = false;
+		for (var result : results) {
+			if (result.getStatus() != Status.UPDATED) continue;
+			entityManagerFactory.getCache().evict(entity, result.getId());
+			updated = true;
+		}
+		if (updated) entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+		return results;
+	}
+
+	// the message an INVALID item gets for a missing or too long column, null when it fits
+	public static String checkText(String field, String value, int maxLength) {
+		if (value == null) return field + " is required";
+		if (value.length() > maxLength) return field + " is longer than " + maxLength + " characters";
+		return null;
+	}
+
+	private <T> List<BatchItemResultVO> write(List<T> items, Function<T, String> validator, ChunkWriter writer) {
+
+		if (items.size() > maxItems)
+			throw new BatchTooLargeException("A batch takes at most " + maxItems + " items!");
+
+		var results = new BatchItemResultVO[items.size()];
+		List<Integer> chunk = new ArrayList<>(Math.min(chunkSize, items.size()));
+		for (int i = 0; i < items.size(); i++) {
+			T item = items.get(i);
+			String invalid = item == null ? "item is null" : validator.apply(item);
+			if (invalid != null) {
+				results[i] = new BatchItemResultVO(i, null, Status.INVALID, invalid);
+				continue;
+			}
+			chunk.add(i);
+			if (chunk.size() == chunkSize) {
+				flush(chunk, results, writer);
+				chunk.clear();
+			}
+		}
+		if (!chunk.isEmpty()) flush(chunk, results, writer);
+		return Arrays.asList(results);
+	}
+
+	private void flush(List<Integer> chunk, BatchItemResultVO[] results, ChunkWriter writer) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute(
+					(ConnectionCallback<Void>) connection -> {
+						writer.write(connection, chunk, results);
+						return null;
+					}));
+		} catch (RuntimeException e) {
+			String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+			logger.warning("Batch chunk of " + chunk.size() + " items failed: " + message);
+			for (int i : chunk) results[i] = new BatchItemResultVO(i, null, Status.FAILED, message);
+		}
+	}
+}
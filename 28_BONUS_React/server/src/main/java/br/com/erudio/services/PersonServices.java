@@ -3,78 +3,227 @@ package br.com.erudio.services;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.PagedModel.PageMetadata;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.UriUtils;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 
 import br.com.erudio.controllers.PersonController;
+import br.com.erudio.data.vo.v1.BatchItemResultVO;
+import br.com.erudio.data.vo.v1.BatchItemResultVO.Status;
+import br.com.erudio.data.vo.v1.ImportProgressVO;
+import br.com.erudio.data.vo.v1.LeanPageVO;
+import br.com.erudio.data.vo.v1.PersonLeanVO;
+import br.com.erudio.data.vo.v1.PersonSuggestionVO;
 import br.com.erudio.data.vo.v1.PersonVO;
 import br.com.erudio.exceptions.RequiredObjectIsNullException;
 import br.com.erudio.exceptions.ResourceNotFoundException;
-import br.com.erudio.mapper.DozerMapper;
+import br.com.erudio.hateoas.LinkFactory;
+import br.com.erudio.hateoas.PagedModelAssembler;
+import br.com.erudio.mapper.EntityMapper;
 import br.com.erudio.model.Person;
 import br.com.erudio.reposirories.PersonRepository;
-import jakarta.transaction.Transactional;
+import br.com.erudio.search.PersonNameIndex;
+import br.com.erudio.serialization.ExportWriter;
+import br.com.erudio.serialization.ExportWriter.Format;
+import br.com.erudio.util.KeysetCursor;
 
 @Service
 public class PersonServices {
 
+	private static final String INSERT_PERSON = "INSERT INTO person "
+			+ "(first_name, last_name, address, gender, enabled, version) VALUES (?, ?, ?, ?, ?, 0)";
+
+	private static final String UPDATE_PERSON = "UPDATE person "
+			+ "SET first_name = ?, last_name = ?, address = ?, gender = ?, version = version + 1 WHERE id = ?";
+
+	private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+			.build();
+
 	private Logger logger = Logger.getLogger(PersonServices.class.getName());
 
 	@Autowired
 	PersonRepository repository;
 	
 	@Autowired
-	PagedResourcesAssembler<PersonVO> assembler;
+	PagedModelAssembler assembler;
+
+	@Autowired
+	EntityMapper mapper;
+
+	@Autowired
+	LinkFactory linkFactory;
+
+	@Autowired
+	CountCache countCache;
+
+	@Autowired
+	PersonNameIndex nameIndex;
+
+	@Autowired
+	JdbcBatchWriter batchWriter;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Autowired
+	ExportWriter exportWriter;
+
+	@Value("${search.suggest.max-limit:50}")
+	private int maxSuggestLimit = 50;
+
+	@Value("${batch.chunk-size:500}")
+	private int importChunkSize = 500;
 
-	public PagedModel<EntityModel<PersonVO>> findAll(Pageable pageable) {
+	@Transactional(readOnly = true)
+	public CollectionModel<EntityModel<PersonVO>> findAll(Pageable pageable, boolean withTotal) {
 		
 		logger.info("Finding all people!");
 		
-		var personPage = repository.findAll(pageable);
+		if (!withTotal) {
+			var personVosSlice = repository.findPersonVOSlice(pageable);
+			return assembler.toSlicedModel(personVosSlice, PersonController.class, PersonVO::getKey);
+		}
 		
-		var personVosPage = personPage.map(p -> DozerMapper.parseObject(p, PersonVO.class));
-		personVosPage.map(
-				p -> p.add(
-						linkTo(methodOn(PersonController.class)
-								.findById(p.getKey())).withSelfRel()));
-		
-		
-		Link link = linkTo(
-				methodOn(PersonController.class).findAll(
-						pageable.getPageNumber(),
-						pageable.getPageSize(),
-						"asc")).withSelfRel();
-		
-		return assembler.toModel(personVosPage, link);
+		var personVosPage = PageableExecutionUtils.getPage(
+				repository.findPersonVOs(pageable), pageable, () -> countCache.get("person", repository::count));
+		return assembler.toPagedModel(personVosPage, PersonController.class, PersonVO::getKey);
+	}
+
+	@Transactional(readOnly = true)
+	public LeanPageVO<PersonLeanVO> findAllLean(Pageable pageable, boolean withTotal) {
+
+		logger.info("Finding all people, lean!");
+
+		if (!withTotal) return LeanPageVO.of(repository.findPersonLeanVOSlice(pageable));
+
+		return LeanPageVO.of(PageableExecutionUtils.getPage(
+				repository.findPersonLeanVOs(pageable), pageable, () -> countCache.get("person", repository::count)));
+	}
+
+	// Seeks past the (firstName, id) of the cursor instead of skipping OFFSET rows, and reads
+	// one row more than asked to know whether there is a next page, so no count is needed.
+	// An empty cursor starts from the first row.
+	@Transactional(readOnly = true)
+	public PagedModel<EntityModel<PersonVO>> findAllByCursor(String cursor, int size, String direction) {
+
+		logger.info("Finding people by cursor!");
+
+		var position = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+		boolean descending = position != null
+				? position.descending() : "desc".equalsIgnoreCase(direction);
+		var limit = PageRequest.of(0, size + 1);
+
+		List<PersonVO> people;
+		if (position == null) {
+			var sortDirection = descending ? Direction.DESC : Direction.ASC;
+			people = repository.findPersonVOs(
+					PageRequest.of(0, size + 1, Sort.by(sortDirection, "firstName", "id")));
+		} else if (descending) {
+			people = repository.findPersonsBefore(position.value(), position.id(), limit);
+		} else {
+			people = repository.findPersonsAfter(position.value(), position.id(), limit);
+		}
+
+		boolean hasNext = people.size() > size;
+		if (hasNext) people = people.subList(0, size);
+
+		var content = people.stream()
+				.map(p -> {
+					p.add(linkFactory.self(PersonController.class, p.getKey()));
+					return EntityModel.of(p);
+				})
+				.toList();
+
+		// page has no meaning here, expand() drops it instead of leaving a {&page} template
+		var sortDirection = descending ? "desc" : "asc";
+		List<Link> links = new ArrayList<>();
+		links.add(linkTo(methodOn(PersonController.class)
+				.findAll(null, size, sortDirection, cursor == null ? "" : cursor, null, null, null)).withSelfRel().expand());
+		if (hasNext) {
+			var last = people.get(people.size() - 1);
+			var next = new KeysetCursor(descending, last.getFirstName(), last.getKey()).encode();
+			links.add(linkTo(methodOn(PersonController.class)
+					.findAll(null, size, sortDirection, next, null, null, null)).withRel(IanaLinkRelations.NEXT).expand());
+		}
+
+		return PagedModel.of(content, (PageMetadata) null, links);
 	}
 
+	@Transactional(readOnly = true)
 	public PagedModel<EntityModel<PersonVO>> findPersonByName(String firstName, Pageable pageable) {
 
 		logger.info("Finding all people!");
 		
 		var personPage = repository.findPersonsByName(firstName, pageable);
 
-		var personVosPage = personPage.map(p -> DozerMapper.parseObject(p, PersonVO.class));
-		personVosPage.map(
-			p -> p.add(
-					linkTo(methodOn(PersonController.class)
-					.findById(p.getKey())).withSelfRel()));
-		
-				
-		Link link = linkTo(
-				methodOn(PersonController.class).findAll(
-						pageable.getPageNumber(),
-						pageable.getPageSize(),
-							"asc")).withSelfRel();
+		var personVosPage = personPage.map(mapper::toPersonVO);
+		var collection = linkFactory.base(PersonController.class)
+				+ "/findPersonByName/" + UriUtils.encodePathSegment(firstName, StandardCharsets.UTF_8);
+		return assembler.toPagedModel(personVosPage, PersonController.class, PersonVO::getKey, collection);
+	}
+
+	// Rows go from a MySQL streaming result set into the response one at a time; they are read
+	// as lean VOs, so no entity enters the persistence context or the second-level cache.
+	@Transactional(readOnly = true)
+	public long exportPeople(Format format, OutputStream out) throws IOException {
+
+		logger.info("Exporting all people!");
+
+		try (var people = repository.streamPersonLeanVOs()) {
+			return exportWriter.write(people, PersonLeanVO.class, format, "people", "person", out);
+		}
+	}
+
+	public List<PersonSuggestionVO> suggest(String prefix, int limit) {
+		return nameIndex.suggest(prefix, Math.min(limit, maxSuggestLimit));
+	}
 
-		return assembler.toModel(personVosPage, link);
+	public Long findVersion(Long id) {
+		return repository.findVersionById(id);
+	}
+
+	// Read through the personVO cache, keyed by the version the caller has just read, so a write,
+	// which bumps the version, needs no eviction, and by the base URI the self link is built on.
+	// A row written in between comes back at its newer version and is not cached.
+	@Cacheable(value = "personVO", condition = "#version != null", unless = "#result.version != #version",
+			key = "{#id, #version, @linkFactory.base(T(br.com.erudio.controllers.PersonController))}")
+	public PersonVO findById(Long id, Long version) {
+		return findById(id);
 	}
 
 	public PersonVO findById(Long id) {
@@ -84,9 +233,9 @@ public class PersonServices {
 		var entity = repository.findById(id)
 				.orElseThrow(() -> new ResourceNotFoundException("No records found fo this ID!"));
 
-		var vo = DozerMapper.parseObject(entity, PersonVO.class);
+		var vo = mapper.toPersonVO(entity);
 
-		vo.add(linkTo(methodOn(PersonController.class).findById(id)).withSelfRel());
+		vo.add(linkFactory.self(PersonController.class, id));
 
 		return vo;
 	}
@@ -98,14 +247,103 @@ public class PersonServices {
 
 		logger.info("Creating one person!");
 
-		var entity = DozerMapper.parseObject(person, Person.class);
-		var vo = DozerMapper.parseObject(repository.save(entity), PersonVO.class);
+		var entity = mapper.toPerson(person);
+		var vo = mapper.toPersonVO(repository.save(entity));
+		countCache.evict("person");
 
-		vo.add(linkTo(methodOn(PersonController.class).findById(vo.getKey())).withSelfRel());
+		vo.add(linkFactory.self(PersonController.class, vo.getKey()));
 
 		return vo;
 	}
 
+	public List<BatchItemResultVO> createBatch(List<PersonVO> people) {
+
+		if (people == null || people.isEmpty())
+			throw new RequiredObjectIsNullException();
+
+		logger.info("Creating a batch of " + people.size() + " people!");
+
+		var results = batchWriter.insert(INSERT_PERSON, people, person -> validate(person, true), this::bindInsert);
+		countCache.evict("person");
+		index(people, results, Status.CREATED);
+
+		return results;
+	}
+
+	// Pulls the records off the body one at a time and writes them a chunk at a time, so one
+	// chunk is all that is held whatever the size of the upload. The body is read further only
+	// once the chunk before has been committed, which holds back a client sending faster than
+	// the inserts go. A record that does not map is INVALID; a body that stops being NDJSON or
+	// CSV ends the import, keeping what was written. progress gets the totals after each chunk.
+	public ImportProgressVO importPeople(InputStream body, boolean csv, Consumer<ImportProgressVO> progress)
+			throws IOException {
+
+		logger.info("Importing people!");
+
+		ObjectReader reader = csv
+				? CSV_MAPPER.readerFor(PersonVO.class).with(CsvSchema.emptySchema().withHeader())
+				: objectMapper.readerFor(PersonVO.class);
+
+		var report = new ImportProgressVO();
+		List<PersonVO> chunk = new ArrayList<>(importChunkSize);
+		List<Long> positions = new ArrayList<>(importChunkSize);
+		try (MappingIterator<PersonVO> records = reader.readValues(body)) {
+			while (true) {
+				long position = report.getRead();
+				try {
+					if (!records.hasNextValue()) break;
+					var person = records.nextValue();
+					report.setRead(position + 1);
+					chunk.add(person);
+					positions.add(position);
+				} catch (JsonParseException e) {
+					report.setError("Record " + position + ": " + e.getOriginalMessage());
+					break;
+				} catch (JsonMappingException e) {
+					report.setRead(position + 1);
+					report.setInvalid(report.getInvalid() + 1);
+					report.getErrors().add(new BatchItemResultVO(position, null, Status.INVALID, e.getOriginalMessage()));
+				}
+				// records that did not map count toward the chunk too, or a body of nothing but
+				// bad records would pile up errors until its end
+				if (chunk.size() + report.getErrors().size() >= importChunkSize) {
+					importChunk(chunk, positions, report);
+					progress.accept(report);
+					report.getErrors().clear();
+				}
+			}
+		}
+		importChunk(chunk, positions, report);
+
+		report.setDone(true);
+		progress.accept(report);
+		return report;
+	}
+
+	// enabled is left as stored, the same as the single update
+	public List<BatchItemResultVO> updateBatch(List<PersonVO> people) {
+
+		if (people == null || people.isEmpty())
+			throw new RequiredObjectIsNullException();
+
+		logger.info("Updating a batch of " + people.size() + " people!");
+
+		var results = batchWriter.update(Person.class, UPDATE_PERSON, people, PersonVO::getKey,
+				person -> validate(person, false),
+				(ps, person) -> {
+					bindColumns(ps, person);
+					ps.setLong(5, person.getKey());
+				});
+		index(people, results, Status.UPDATED);
+
+		return results;
+	}
+
+	// One UPDATE and one projection read instead of loading and dirty checking the entity. The
+	// UPDATE leaves enabled alone (that is what PATCH /{id} is for), so the response is read back
+	// rather than echoed from the request, whose enabled may be null or stale. The version the
+	// UPDATE bumps keeps the personVO cache from serving the row as it was.
+	@Transactional
 	public PersonVO update(PersonVO person) {
 
 		if (person == null)
@@ -113,45 +351,111 @@ public class PersonServices {
 
 		logger.info("Updating one person!");
 
-		var entity = repository.findById(person.getKey())
-				.orElseThrow(() -> new ResourceNotFoundException("No records found fo this ID!"));
+		int updated = repository.updatePerson(person.getKey(),
+				person.getFirstName(), person.getLastName(), person.getAddress(), person.getGender());
+		if (updated == 0) throw new ResourceNotFoundException("No records found fo this ID!");
 
-		entity.setFirstName(person.getFirstName());
-		entity.setLastName(person.getLastName());
-		entity.setAddress(person.getAddress());
-		entity.setGender(person.getGender());
+		var vo = repository.findPersonVOById(person.getKey())
+				.orElseThrow(() -> new ResourceNotFoundException("No records found fo this ID!"));
 
-		var vo = DozerMapper.parseObject(repository.save(entity), PersonVO.class);
+		var entity = new Person();
+		entity.setId(vo.getKey());
+		entity.setFirstName(vo.getFirstName());
+		entity.setLastName(vo.getLastName());
+		nameIndex.putAfterCommit(entity);
 
-		vo.add(linkTo(methodOn(PersonController.class).findById(vo.getKey())).withSelfRel());
+		vo.add(linkFactory.self(PersonController.class, vo.getKey()));
 
 		return vo;
 	}
 	
+	// The read back is deliberate. PATCH /{id} answers with the whole person, and clients
+	// and the controller tests rely on that, but the UPDATE only knows the id. MySQL has no
+	// UPDATE ... RETURNING, and reading first would let a concurrent edit slip between the
+	// read and the write, so the row is read after the UPDATE by primary key, in the same
+	// transaction, as a projection.
 	@Transactional
 	public PersonVO disablePerson(Long id) {
 
 		logger.info("Disabling one person!");
 		
-		repository.disablePerson(id);
+		if (repository.disablePerson(id) == 0)
+			throw new ResourceNotFoundException("No records found fo this ID!");
 
-		var entity = repository.findById(id)
+		var vo = repository.findPersonVOById(id)
 				.orElseThrow(() -> new ResourceNotFoundException("No records found fo this ID!"));
 
-		var vo = DozerMapper.parseObject(entity, PersonVO.class);
-
-		vo.add(linkTo(methodOn(PersonController.class).findById(id)).withSelfRel());
+		vo.add(linkFactory.self(PersonController.class, id));
 
 		return vo;
 	}
 
+	@Transactional
 	public void delete(Long id) {
 
 		logger.info("Deleting one person!");
 
-		var entity = repository.findById(id)
-				.orElseThrow(() -> new ResourceNotFoundException("No records found fo this ID!"));
+		if (repository.deletePerson(id) == 0)
+			throw new ResourceNotFoundException("No records found fo this ID!");
+
+		nameIndex.removeAfterCommit(id);
+		countCache.evict("person");
+	}
+
+	private String validate(PersonVO person, boolean requireEnabled) {
+		var invalid = JdbcBatchWriter.checkText("firstName", person.getFirstName(), 80);
+		if (invalid == null) invalid = JdbcBatchWriter.checkText("lastName", person.getLastName(), 80);
+		if (invalid == null) invalid = JdbcBatchWriter.checkText("address", person.getAddress(), 100);
+		if (invalid == null) invalid = JdbcBatchWriter.checkText("gender", person.getGender(), 6);
+		if (invalid == null && requireEnabled && person.getEnabled() == null) invalid = "enabled is required";
+		return invalid;
+	}
+
+	private void bindColumns(PreparedStatement ps, PersonVO person) throws SQLException {
+		ps.setString(1, person.getFirstName());
+		ps.setString(2, person.getLastName());
+		ps.setString(3, person.getAddress());
+		ps.setString(4, person.getGender());
+	}
+
+	private void importChunk(List<PersonVO> chunk, List<Long> positions, ImportProgressVO report) {
+
+		if (chunk.isEmpty()) return;
+
+		var results = batchWriter.insert(INSERT_PERSON, chunk, person -> validate(person, true), this::bindInsert);
+		index(chunk, results, Status.CREATED);
+		for (var result : results) {
+			switch (result.getStatus()) {
+				case CREATED -> report.setCreated(report.getCreated() + 1);
+				case INVALID -> report.setInvalid(report.getInvalid() + 1);
+				default -> report.setFailed(report.getFailed() + 1);
+			}
+			if (result.getStatus() != Status.CREATED) {
+				result.setIndex(positions.get((int) result.getIndex()));
+				report.getErrors().add(result);
+			}
+		}
+		countCache.evict("person");
+		chunk.clear();
+		positions.clear();
+	}
+
+	private void bindInsert(PreparedStatement ps, PersonVO person) throws SQLException {
+		bindColumns(ps, person);
+		ps.setBoolean(5, person.getEnabled());
+	}
 
-		repository.delete(entity);
+	private void index(List<PersonVO> people, List<BatchItemResultVO> results, Status written) {
+		List<Person> indexed = new ArrayList<>();
+		for (var result : results) {
+			if (result.getStatus() != written) continue;
+			var person = people.get((int) result.getIndex());
+			var entity = new Person();
+			entity.setId(result.getId());
+			entity.setFirstName(person.getFirstName());
+			entity.setLastName(person.getLastName());
+			indexed.add(entity);
+		}
+		if (!indexed.isEmpty()) nameIndex.putAll(indexed);
 	}
 }
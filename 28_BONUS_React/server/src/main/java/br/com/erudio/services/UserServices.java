@@ -1,22 +1,31 @@
 package br.com.erudio.services;
 
+import java.util.Date;
 import java.util.logging.Logger;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.model.User;
 import br.com.erudio.reposirories.UserRepository;
+import br.com.erudio.security.jwt.JwtRevocationList;
+import jakarta.transaction.Transactional;
 
 @Service
-public class UserServices implements UserDetailsService {
+public class UserServices implements UserDetailsService, UserDetailsPasswordService {
 
 	private Logger logger = Logger.getLogger(UserServices.class.getName());
 	
 	@Autowired
 	UserRepository repository;
+
+	@Autowired
+	JwtRevocationList revocationList;
 	
 	public UserServices(UserRepository repository) {
 		this.repository = repository;
@@ -32,4 +41,35 @@ public class UserServices implements UserDetailsService {
 			throw new UsernameNotFoundException("Username " + username + " not found!");
 		}
 	}
+
+	@Override
+	@Transactional
+	public UserDetails updatePassword(UserDetails user, String newPassword) {
+		logger.info("Upgrading the password hash of user " + user.getUsername() + "!");
+		repository.updatePassword(user.getUsername(), newPassword);
+		if (user instanceof User entity) {
+			entity.setPassword(newPassword);
+		}
+		return user;
+	}
+
+	// the tokens the user already holds stay valid until they expire, so they are revoked
+	// together with the account, on this node right away and on the others by the next poll
+	@Transactional
+	public void disableUser(String username) {
+		logger.info("Disabling user " + username + "!");
+		var now = new Date();
+		if (repository.disableUser(username, now) == 0)
+			throw new ResourceNotFoundException("Username " + username + " not found!");
+		revocationList.revoke(username, now);
+	}
+
+	@Transactional
+	public void lockUser(String username) {
+		logger.info("Locking user " + username + "!");
+		var now = new Date();
+		if (repository.lockUser(username, now) == 0)
+			throw new ResourceNotFoundException("Username " + username + " not found!");
+		revocationList.revoke(username, now);
+	}
 }
@@ -0,0 +1,29 @@
+package br.com.erudio.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import br.com.erudio.exceptions.InvalidCursorException;
+
+// Position of the last row of a keyset page: the sort value and the id that breaks ties.
+// It travels as opaque base64url, clients only pass it back to get the next page.
+public record KeysetCursor(boolean descending, String value, Long id) {
+
+	public String encode() {
+		String raw = (descending ? "d" : "a") + ":" + id + ":" + value;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static KeysetCursor decode(String cursor) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			String[] parts = raw.split(":", 3);
+			if (parts.length != 3 || !(parts[0].equals("a") || parts[0].equals("d"))) {
+				throw new InvalidCursorException("Invalid cursor!");
+			}
+			return new KeysetCursor(parts[0].equals("d"), parts[2], Long.valueOf(parts[1]));
+		} catch (IllegalArgumentException e) {
+			throw new InvalidCursorException("Invalid cursor!");
+		}
+	}
+}
@@ -5,5 +5,8 @@ public class MediaType {
 	public static final String APPLICATION_JSON = "application/json";
 	public static final String APPLICATION_XML = "application/xml";
 	public static final String APPLICATION_YML = "application/x-yaml";
+	public static final String APPLICATION_LEAN_JSON = "application/vnd.erudio.lean+json";
+	public static final String APPLICATION_NDJSON = "application/x-ndjson";
+	public static final String TEXT_CSV = "text/csv";
 
 }
@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS `refresh_token` (
+  `jti` varchar(36) NOT NULL,
+  `family` varchar(36) NOT NULL,
+  `user_name` varchar(255) NOT NULL,
+  `expires_at` datetime(6) NOT NULL,
+  `used` bit(1) NOT NULL DEFAULT b'0',
+  `revoked` bit(1) NOT NULL DEFAULT b'0',
+  PRIMARY KEY (`jti`),
+  KEY `idx_refresh_token_family` (`family`),
+  KEY `idx_refresh_token_expires_at` (`expires_at`)
+) ENGINE=InnoDB;
\ No newline at end of file
@@ -0,0 +1,8 @@
+-- the ngram parser drops every token that contains a stopword, and the default list has
+-- single letters such as 'a' and 'i', so the index is built without a stopword list
+SET SESSION innodb_ft_enable_stopword = OFF;
+
+ALTER TABLE `person`
+	ADD FULLTEXT INDEX `ft_person_first_name` (`first_name`) WITH PARSER ngram;
+
+SET SESSION innodb_ft_enable_stopword = ON;
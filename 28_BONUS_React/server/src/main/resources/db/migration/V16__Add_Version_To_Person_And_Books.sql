@@ -0,0 +1,5 @@
+ALTER TABLE `person`
+	ADD COLUMN `version` BIGINT NOT NULL DEFAULT 0 AFTER `enabled`;
+
+ALTER TABLE `books`
+	ADD COLUMN `version` BIGINT NOT NULL DEFAULT 0 AFTER `title`;
@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS `jwt_signing_key` (
+  `kid` varchar(36) NOT NULL,
+  `algorithm` varchar(5) NOT NULL,
+  `public_key` text NOT NULL,
+  `private_key` text,
+  `created_at` datetime(6) NOT NULL,
+  `retired_at` datetime(6),
+  PRIMARY KEY (`kid`),
+  KEY `idx_jwt_signing_key_algorithm` (`algorithm`)
+) ENGINE=InnoDB;
@@ -0,0 +1,2 @@
+ALTER TABLE `users` ADD COLUMN `tokens_revoked_at` datetime(6) DEFAULT NULL;
+ALTER TABLE `users` ADD KEY `idx_users_tokens_revoked_at` (`tokens_revoked_at`);
@@ -0,0 +1,96 @@
+package br.com.erudio.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import br.com.erudio.security.jwt.JwtAuthenticationCache;
+import br.com.erudio.security.jwt.JwtKeyManager;
+import br.com.erudio.security.jwt.JwtRevocationList;
+import br.com.erudio.security.jwt.JwtTokenFilter;
+import br.com.erudio.security.jwt.JwtTokenProvider;
+import br.com.erudio.security.jwt.RefreshTokenStore;
+import jakarta.servlet.FilterChain;
+
+// Per-request cost of the production JwtTokenFilter, in claims mode so no database is needed,
+// with the authentication cache off (every request verifies the signature) and on.
+// Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+//           -Dexec.mainClass=br.com.erudio.benchmarks.JwtVerificationBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+	private static final FilterChain NO_OP = (request, response) -> {};
+
+	@Param({ "false", "true" })
+	public boolean cacheEnabled;
+
+	private JwtTokenFilter filter;
+	private MockHttpServletRequest request;
+	private MockHttpServletResponse response;
+
+	@Setup
+	public void setUp() {
+		var authenticationCache = new JwtAuthenticationCache();
+		ReflectionTestUtils.setField(authenticationCache, "enabled", cacheEnabled);
+		var refreshTokenStore = new RefreshTokenStore();
+
+		var tokenProvider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(tokenProvider, "secretKey", "53cr37");
+		ReflectionTestUtils.setField(tokenProvider, "authenticationMode", "claims");
+		ReflectionTestUtils.setField(tokenProvider, "userDetailsService", (UserDetailsService) username -> null);
+		ReflectionTestUtils.setField(tokenProvider, "revocationList",
+				new JwtRevocationList(authenticationCache, refreshTokenStore));
+		ReflectionTestUtils.setField(tokenProvider, "refreshTokenStore", refreshTokenStore);
+		ReflectionTestUtils.setField(tokenProvider, "keyManager", new JwtKeyManager());
+		ReflectionTestUtils.invokeMethod(tokenProvider, "init");
+
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+		String token = tokenProvider.createAccessToken("leandro", List.of("ADMIN", "MANAGER")).getAccessToken();
+		RequestContextHolder.resetRequestAttributes();
+
+		filter = new JwtTokenFilter(tokenProvider, authenticationCache);
+		request = new MockHttpServletRequest("GET", "/api/person/v1/1");
+		request.addHeader("Authorization", "Bearer " + token);
+		response = new MockHttpServletResponse();
+	}
+
+	@Benchmark
+	public Authentication filter() throws Exception {
+		SecurityContextHolder.clearContext();
+		filter.doFilter(request, response, NO_OP);
+		return SecurityContextHolder.getContext().getAuthentication();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+			.include(JwtVerificationBenchmark.class.getSimpleName())
+			.build()).run();
+	}
+}
@@ -0,0 +1,92 @@
+package br.com.erudio.benchmarks;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import br.com.erudio.controllers.PersonController;
+import br.com.erudio.hateoas.LinkFactory;
+
+// Cost of the item self links of one listing page, each invocation being a new request.
+// Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+//           -Dexec.mainClass=br.com.erudio.benchmarks.LinkBuildingBenchmark
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkBuildingBenchmark {
+
+	@Param({ "12", "100", "1000" })
+	private int pageSize;
+
+	private LinkFactory linkFactory;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		linkFactory = new LinkFactory();
+	}
+
+	@Setup(Level.Invocation)
+	public void newRequest() {
+		var request = new MockHttpServletRequest("GET", "/api/person/v1");
+		request.setServerPort(8888);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+
+	@TearDown(Level.Invocation)
+	public void endRequest() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	// a controller proxy, an invocation recording and a current request lookup per item
+	@Benchmark
+	public List<Link> methodOnPerItem() {
+		List<Link> links = new ArrayList<>(pageSize);
+		for (long id = 1; id <= pageSize; id++) {
+			links.add(linkTo(methodOn(PersonController.class).findById(id)).withSelfRel());
+		}
+		return links;
+	}
+
+	// the base is resolved on the first item, the others only concatenate the id
+	@Benchmark
+	public List<Link> linkFactory() {
+		List<Link> links = new ArrayList<>(pageSize);
+		for (long id = 1; id <= pageSize; id++) {
+			links.add(linkFactory.self(PersonController.class, id));
+		}
+		return links;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+			.include(LinkBuildingBenchmark.class.getSimpleName())
+			.build()).run();
+	}
+}
@@ -0,0 +1,83 @@
+package br.com.erudio.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.mapper.DozerEntityMapper;
+import br.com.erudio.mapper.EntityMapper;
+import br.com.erudio.mapper.MapStructEntityMapper;
+import br.com.erudio.model.Person;
+
+// Cost of mapping one listing page of Person entities to PersonVOs.
+// Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+//           -Dexec.mainClass=br.com.erudio.benchmarks.MapperBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+	private EntityMapper dozer;
+	private EntityMapper mapStruct;
+	private List<Person> page;
+
+	@Setup
+	public void setUp() {
+		dozer = new DozerEntityMapper();
+		mapStruct = new MapStructEntityMapper();
+
+		page = new ArrayList<>();
+		for (long i = 1; i <= 12; i++) {
+			Person person = new Person();
+			person.setId(i);
+			person.setFirstName("First Name " + i);
+			person.setLastName("Last Name " + i);
+			person.setAddress("Address " + i);
+			person.setGender(i % 2 == 0 ? "Male" : "Female");
+			person.setEnabled(true);
+			page.add(person);
+		}
+	}
+
+	// reflective mapping, field lookups resolved through the Dozer class map on every call
+	@Benchmark
+	public List<PersonVO> dozerPage() {
+		return map(dozer);
+	}
+
+	// generated getter to setter calls
+	@Benchmark
+	public List<PersonVO> mapStructPage() {
+		return map(mapStruct);
+	}
+
+	private List<PersonVO> map(EntityMapper mapper) {
+		List<PersonVO> vos = new ArrayList<>(page.size());
+		for (Person person : page) vos.add(mapper.toPersonVO(person));
+		return vos;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+			.include(MapperBenchmark.class.getSimpleName())
+			.build()).run();
+	}
+}
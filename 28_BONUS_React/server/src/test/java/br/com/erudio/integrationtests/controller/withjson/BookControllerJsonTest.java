@@ -282,15 +282,15 @@ public class BookControllerJsonTest extends AbstractIntegrationTest{
 			("\"_links\":{\"self\":{\"href\":\"http://localhost:8888/api/book/v1/4\"}}}"));
 		
 		assertTrue(content.contains
-			("{\"first\":{\"href\":\"http://localhost:8888/api/person/v1?direction=asc&page=0&size=3&sort=title,asc\"},"));
+			("{\"first\":{\"href\":\"http://localhost:8888/api/book/v1?page=0&size=3&direction=asc\"},"));
 		assertTrue(content.contains
-			("\"prev\":{\"href\":\"http://localhost:8888/api/person/v1?direction=asc&page=0&size=3&sort=title,asc\"},"));
+			("\"prev\":{\"href\":\"http://localhost:8888/api/book/v1?page=0&size=3&direction=asc\"},"));
 		assertTrue(content.contains
-			("\"self\":{\"href\":\"http://localhost:8888/api/person/v1?page=1&size=3&direction=asc\"},"));
+			("\"self\":{\"href\":\"http://localhost:8888/api/book/v1?page=1&size=3&direction=asc\"},"));
 		assertTrue(content.contains
-			("\"next\":{\"href\":\"http://localhost:8888/api/person/v1?direction=asc&page=2&size=3&sort=title,asc\"},"));
+			("\"next\":{\"href\":\"http://localhost:8888/api/book/v1?page=2&size=3&direction=asc\"},"));
 		assertTrue(content.contains
-			("\"last\":{\"href\":\"http://localhost:8888/api/person/v1?direction=asc&page=2&size=3&sort=title,asc\"}},"));
+			("\"last\":{\"href\":\"http://localhost:8888/api/book/v1?page=2&size=3&direction=asc\"}},"));
 
 		assertTrue(content.contains
 			("\"page\":{\"size\":3,\"totalElements\":8,\"totalPages\":3,\"number\":1}}"));
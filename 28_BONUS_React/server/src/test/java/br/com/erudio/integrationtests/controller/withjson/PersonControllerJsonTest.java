@@ -367,18 +367,52 @@ public class PersonControllerJsonTest extends AbstractIntegrationTest{
 			("\"_links\":{\"self\":{\"href\":\"http://localhost:8888/api/person/v1/161\"}}},"));
 
 		assertTrue(content.contains
-			("{\"first\":{\"href\":\"http://localhost:8888/api/person/v1?direction=asc&page=0&size=10&sort=firstName,asc\"},"));
+			("{\"first\":{\"href\":\"http://localhost:8888/api/person/v1?page=0&size=10&direction=asc\"},"));
 		assertTrue(content.contains
-			("\"prev\":{\"href\":\"http://localhost:8888/api/person/v1?direction=asc&page=2&size=10&sort=firstName,asc\"},"));
+			("\"prev\":{\"href\":\"http://localhost:8888/api/person/v1?page=2&size=10&direction=asc\"},"));
 		assertTrue(content.contains
 			("\"self\":{\"href\":\"http://localhost:8888/api/person/v1?page=3&size=10&direction=asc\"},"));
 		assertTrue(content.contains
-			("\"next\":{\"href\":\"http://localhost:8888/api/person/v1?direction=asc&page=4&size=10&sort=firstName,asc\"},"));
+			("\"next\":{\"href\":\"http://localhost:8888/api/person/v1?page=4&size=10&direction=asc\"},"));
 		assertTrue(content.contains
-			("\"last\":{\"href\":\"http://localhost:8888/api/person/v1?direction=asc&page=100&size=10&sort=firstName,asc\"}}"));
+			("\"last\":{\"href\":\"http://localhost:8888/api/person/v1?page=100&size=10&direction=asc\"}}"));
 
 		assertTrue(content.contains
 			("\"page\":{\"size\":10,\"totalElements\":1009,\"totalPages\":101,\"number\":3}}"));
 	}
 
-}
\ No newline at end of file
+	@Test
+	@Order(10)
+	public void testLeanRepresentation() throws JsonMappingException, JsonProcessingException {
+		
+		var content = given().spec(specification)
+				.accept("application/vnd.erudio.lean+json")
+				.queryParams("page", 3, "size", 10, "direction", "asc")
+				.when()
+					.get()
+				.then()
+					.statusCode(200)
+					.contentType("application/vnd.erudio.lean+json")
+						.extract()
+						.body()
+							.asString();
+		
+		assertFalse(content.contains("_links"));
+		assertFalse(content.contains("_embedded"));
+		assertTrue(content.startsWith("{\"content\":[{\"id\":"));
+		assertTrue(content.endsWith("\"number\":3,\"size\":10,\"totalElements\":1009,\"totalPages\":101,\"hasNext\":true}"));
+		
+		var withoutLinks = given().spec(specification)
+				.contentType(TestConfigs.CONTENT_TYPE_JSON)
+				.queryParams("page", 3, "size", 10, "direction", "asc", "links", "none")
+				.when()
+					.get()
+				.then()
+					.statusCode(200)
+						.extract()
+						.body()
+							.asString();
+		
+		assertEquals(content, withoutLinks);
+	}
+}
@@ -289,15 +289,15 @@ public class BookControllerXmlTest extends AbstractIntegrationTest{
 			("<links><rel>self</rel><href>http://localhost:8888/api/book/v1/4</href></links>"));
 		
 		assertTrue(content.contains
-			("<links><rel>first</rel><href>http://localhost:8888/api/person/v1?direction=asc&amp;page=0&amp;size=3&amp;sort=title,asc</href></links>"));
+			("<links><rel>first</rel><href>http://localhost:8888/api/book/v1?page=0&amp;size=3&amp;direction=asc</href></links>"));
 		assertTrue(content.contains
-			("<links><rel>prev</rel><href>http://localhost:8888/api/person/v1?direction=asc&amp;page=0&amp;size=3&amp;sort=title,asc</href></links>"));
+			("<links><rel>prev</rel><href>http://localhost:8888/api/book/v1?page=0&amp;size=3&amp;direction=asc</href></links>"));
 		assertTrue(content.contains
-			("<links><rel>self</rel><href>http://localhost:8888/api/person/v1?page=1&amp;size=3&amp;direction=asc</href></links>"));
+			("<links><rel>self</rel><href>http://localhost:8888/api/book/v1?page=1&amp;size=3&amp;direction=asc</href></links>"));
 		assertTrue(content.contains
-			("<links><rel>next</rel><href>http://localhost:8888/api/person/v1?direction=asc&amp;page=2&amp;size=3&amp;sort=title,asc</href></links>"));
+			("<links><rel>next</rel><href>http://localhost:8888/api/book/v1?page=2&amp;size=3&amp;direction=asc</href></links>"));
 		assertTrue(content.contains
-			("<links><rel>last</rel><href>http://localhost:8888/api/person/v1?direction=asc&amp;page=2&amp;size=3&amp;sort=title,asc</href></links>"));
+			("<links><rel>last</rel><href>http://localhost:8888/api/book/v1?page=2&amp;size=3&amp;direction=asc</href></links>"));
 
 		assertTrue(content.contains
 			("<page><size>3</size><totalElements>8</totalElements><totalPages>3</totalPages><number>1</number></page>"));
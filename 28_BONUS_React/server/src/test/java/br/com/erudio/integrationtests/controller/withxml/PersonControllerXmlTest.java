@@ -381,15 +381,15 @@ public class PersonControllerXmlTest extends AbstractIntegrationTest{
 			("<links><rel>self</rel><href>http://localhost:8888/api/person/v1/161</href></links>"));
 
 		assertTrue(content.contains
-			("<links><rel>first</rel><href>http://localhost:8888/api/person/v1?direction=asc&amp;page=0&amp;size=10&amp;sort=firstName,asc</href></links>"));
+			("<links><rel>first</rel><href>http://localhost:8888/api/person/v1?page=0&amp;size=10&amp;direction=asc</href></links>"));
 		assertTrue(content.contains
-			("<links><rel>prev</rel><href>http://localhost:8888/api/person/v1?direction=asc&amp;page=2&amp;size=10&amp;sort=firstName,asc</href></links>"));
+			("<links><rel>prev</rel><href>http://localhost:8888/api/person/v1?page=2&amp;size=10&amp;direction=asc</href></links>"));
 		assertTrue(content.contains
 			("<links><rel>self</rel><href>http://localhost:8888/api/person/v1?page=3&amp;size=10&amp;direction=asc</href></links>"));
 		assertTrue(content.contains
-			("<links><rel>next</rel><href>http://localhost:8888/api/person/v1?direction=asc&amp;page=4&amp;size=10&amp;sort=firstName,asc</href>"));
+			("<links><rel>next</rel><href>http://localhost:8888/api/person/v1?page=4&amp;size=10&amp;direction=asc</href>"));
 		assertTrue(content.contains
-			("<links><rel>last</rel><href>http://localhost:8888/api/person/v1?direction=asc&amp;page=100&amp;size=10&amp;sort=firstName,asc</href></links>"));
+			("<links><rel>last</rel><href>http://localhost:8888/api/person/v1?page=100&amp;size=10&amp;direction=asc</href></links>"));
 
 		assertTrue(content.contains
 			("<page><size>10</size><totalElements>1009</totalElements><totalPages>101</totalPages><number>3</number></page>"));
@@ -343,15 +343,15 @@ public class BookControllerYamlTest extends AbstractIntegrationTest{
 			("rel: \"self\"\n    href: \"http://localhost:8888/api/book/v1/4\""));
 		
 		assertTrue(content.contains
-			("rel: \"first\"\n  href: \"http://localhost:8888/api/person/v1?direction=asc&page=0&size=3&sort=title,asc\""));
+			("rel: \"first\"\n  href: \"http://localhost:8888/api/book/v1?page=0&size=3&direction=asc\""));
 		assertTrue(content.contains
-			("rel: \"prev\"\n  href: \"http://localhost:8888/api/person/v1?direction=asc&page=0&size=3&sort=title,asc\""));
+			("rel: \"prev\"\n  href: \"http://localhost:8888/api/book/v1?page=0&size=3&direction=asc\""));
 		assertTrue(content.contains
-			("rel: \"self\"\n  href: \"http://localhost:8888/api/person/v1?page=1&size=3&direction=asc\""));
+			("rel: \"self\"\n  href: \"http://localhost:8888/api/book/v1?page=1&size=3&direction=asc\""));
 		assertTrue(content.contains
-			("rel: \"next\"\n  href: \"http://localhost:8888/api/person/v1?direction=asc&page=2&size=3&sort=title,asc\""));
+			("rel: \"next\"\n  href: \"http://localhost:8888/api/book/v1?page=2&size=3&direction=asc\""));
 		assertTrue(content.contains
-			("rel: \"last\"\n  href: \"http://localhost:8888/api/person/v1?direction=asc&page=2&size=3&sort=title,asc"));
+			("rel: \"last\"\n  href: \"http://localhost:8888/api/book/v1?page=2&size=3&direction=asc"));
 
 		assertTrue(content.contains
 			("page:\n  size: 3\n  totalElements: 8\n  totalPages: 3\n  number: 1"));
@@ -443,15 +443,15 @@ public class PersonControllerYamlTest extends AbstractIntegrationTest{
 			("rel: \"self\"\n    href: \"http://localhost:8888/api/person/v1/161\""));
 
 		assertTrue(content.contains
-			("rel: \"first\"\n  href: \"http://localhost:8888/api/person/v1?direction=asc&page=0&size=10&sort=firstName,asc\""));
+			("rel: \"first\"\n  href: \"http://localhost:8888/api/person/v1?page=0&size=10&direction=asc\""));
 		assertTrue(content.contains
-			("rel: \"prev\"\n  href: \"http://localhost:8888/api/person/v1?direction=asc&page=2&size=10&sort=firstName,asc\""));
+			("rel: \"prev\"\n  href: \"http://localhost:8888/api/person/v1?page=2&size=10&direction=asc\""));
 		assertTrue(content.contains
 			("rel: \"self\"\n  href: \"http://localhost:8888/api/person/v1?page=3&size=10&direction=asc\""));
 		assertTrue(content.contains
-			("rel: \"next\"\n  href: \"http://localhost:8888/api/person/v1?direction=asc&page=4&size=10&sort=firstName,asc\""));
+			("rel: \"next\"\n  href: \"http://localhost:8888/api/person/v1?page=4&size=10&direction=asc\""));
 		assertTrue(content.contains
-			("rel: \"last\"\n  href: \"http://localhost:8888/api/person/v1?direction=asc&page=100&size=10&sort=firstName,asc\""));
+			("rel: \"last\"\n  href: \"http://localhost:8888/api/person/v1?page=100&size=10&direction=asc\""));
 		
 		assertTrue(content.contains
 			("page:\n  size: 10\n  totalElements: 1009\n  totalPages: 101\n  number: 3"));
@@ -0,0 +1,63 @@
+package br.com.erudio.integrationtests.repositoies;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+import br.com.erudio.model.Person;
+import br.com.erudio.reposirories.PersonRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+// Reads the second-level cache through Hibernate statistics, which the test configuration
+// turns on (generate_statistics).
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class PersonCacheStatisticsRepositoryTest extends AbstractIntegrationTest {
+
+	@Autowired
+	public PersonRepository repository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	public void setUp() {
+		SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		sessionFactory.getCache().evictEntityData(Person.class);
+		statistics = sessionFactory.getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	public void testRepeatedFindByIdIsServedFromTheSecondLevelCache() {
+		assertTrue(statistics.isStatisticsEnabled());
+
+		repository.findById(1L).orElseThrow();
+		// a new persistence context, as the next request would have
+		entityManager.clear();
+		repository.findById(1L).orElseThrow();
+		entityManager.clear();
+		repository.findById(1L).orElseThrow();
+
+		CacheRegionStatistics region = statistics.getDomainDataRegionStatistics("person");
+		assertEquals(1, region.getMissCount());
+		assertEquals(1, region.getPutCount());
+		assertEquals(2, region.getHitCount());
+		assertEquals(2, statistics.getSecondLevelCacheHitCount());
+	}
+}
@@ -0,0 +1,68 @@
+package br.com.erudio.integrationtests.repositoies;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+import br.com.erudio.model.Person;
+import br.com.erudio.reposirories.PersonRepository;
+
+// findPersonsByName against the people of V2 and V12. The FULLTEXT index only sees committed
+// rows, so these tests search the migrated data instead of inserting their own.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class PersonNameSearchRepositoryTest extends AbstractIntegrationTest {
+
+	@Autowired
+	public PersonRepository repository;
+
+	private final Pageable pageable = PageRequest.of(0, 12, Sort.by(Direction.ASC, "firstName"));
+
+	@Test
+	public void testMultiCharacterTermMatchesAnywhereInTheName() {
+		Page<Person> page = repository.findPersonsByName("yr", pageable);
+
+		assertEquals(4, page.getTotalElements());
+		assertEquals(List.of("Byram", "Byrle", "Fayre", "Myrtie"), firstNames(page));
+	}
+
+	@Test
+	public void testLongerTermMatchesTheWholePhrase() {
+		Page<Person> page = repository.findPersonsByName("byr", pageable);
+
+		// "by" and "yr" must appear together, so Fayre and Myrtie are out
+		assertEquals(List.of("Byram", "Byrle"), firstNames(page));
+	}
+
+	@Test
+	public void testSingleCharacterIsAPrefix() {
+		Page<Person> page = repository.findPersonsByName("Z", pageable);
+
+		// Eliza, Gonzalo and the other names with a z inside are not a match
+		assertEquals(6, page.getTotalElements());
+		assertEquals(List.of("Zabuza", "Zacharia", "Zeb", "Zebedee", "Zenia", "Zoro"), firstNames(page));
+	}
+
+	@Test
+	public void testMixedCase() {
+		assertEquals(firstNames(repository.findPersonsByName("byr", pageable)),
+				firstNames(repository.findPersonsByName("bYR", pageable)));
+		assertEquals(firstNames(repository.findPersonsByName("Z", pageable)),
+				firstNames(repository.findPersonsByName("z", pageable)));
+	}
+
+	private List<String> firstNames(Page<Person> page) {
+		return page.getContent().stream().map(Person::getFirstName).toList();
+	}
+}
@@ -0,0 +1,57 @@
+package br.com.erudio.unittests.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.Callable;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import br.com.erudio.config.AsyncTimeoutInterceptor;
+
+public class AsyncTimeoutInterceptorTest {
+
+	@Test
+	public void testRequestAttributeOverridesTheDefaultTimeout() throws Exception {
+		var request = asyncRequest();
+		request.setAttribute(AsyncTimeoutInterceptor.TIMEOUT_ATTRIBUTE, 3600000L);
+
+		start(request);
+
+		assertEquals(3600000L, request.getAsyncContext().getTimeout());
+	}
+
+	@Test
+	public void testOtherRequestsKeepTheDefaultTimeout() throws Exception {
+		var request = asyncRequest();
+
+		start(request);
+
+		assertEquals(30000L, request.getAsyncContext().getTimeout());
+	}
+
+	// what RequestMappingHandlerAdapter does before a StreamingResponseBody is handed over
+	private void start(MockHttpServletRequest request) throws Exception {
+		AsyncWebRequest asyncWebRequest = WebAsyncUtils.createAsyncWebRequest(request, new MockHttpServletResponse());
+		asyncWebRequest.setTimeout(30000L);
+
+		WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+		asyncManager.setTaskExecutor(new SimpleAsyncTaskExecutor());
+		asyncManager.setAsyncWebRequest(asyncWebRequest);
+		asyncManager.registerCallableInterceptor("timeout", new AsyncTimeoutInterceptor());
+
+		Callable<Void> body = () -> null;
+		asyncManager.startCallableProcessing(body);
+	}
+
+	private MockHttpServletRequest asyncRequest() {
+		var request = new MockHttpServletRequest("GET", "/api/person/v1/export");
+		request.setAsyncSupported(true);
+		return request;
+	}
+}
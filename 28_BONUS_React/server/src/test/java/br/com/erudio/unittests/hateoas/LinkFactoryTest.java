@@ -0,0 +1,62 @@
+package br.com.erudio.unittests.hateoas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import br.com.erudio.controllers.BookController;
+import br.com.erudio.controllers.PersonController;
+import br.com.erudio.hateoas.LinkFactory;
+
+public class LinkFactoryTest {
+
+	LinkFactory linkFactory;
+	MockHttpServletRequest request;
+
+	@BeforeEach
+	public void setUp() {
+		linkFactory = new LinkFactory();
+		request = new MockHttpServletRequest("GET", "/api/person/v1");
+		request.setServerPort(8888);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	public void buildsTheSameSelfLinkAsMethodOn() {
+		var expected = linkTo(methodOn(PersonController.class).findById(42L)).withSelfRel();
+
+		var link = linkFactory.self(PersonController.class, 42L);
+
+		assertEquals(expected.toString(), link.toString());
+		assertEquals(IanaLinkRelations.SELF, link.getRel());
+		assertEquals("http://localhost:8888/api/person/v1/42", link.getHref());
+	}
+
+	@Test
+	public void resolvesTheBaseOncePerRequestAndController() {
+		assertEquals("http://localhost:8888/api/person/v1", linkFactory.base(PersonController.class));
+		assertEquals("http://localhost:8888/api/book/v1", linkFactory.base(BookController.class));
+
+		// the base resolved first is kept for the rest of the request
+		request.setServerPort(9999);
+		assertEquals("http://localhost:8888/api/book/v1/7", linkFactory.self(BookController.class, 7L).getHref());
+
+		var next = new MockHttpServletRequest("GET", "/api/book/v1");
+		next.setServerPort(9999);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(next));
+		assertEquals("http://localhost:9999/api/book/v1/7", linkFactory.self(BookController.class, 7L).getHref());
+	}
+}
@@ -0,0 +1,106 @@
+package br.com.erudio.unittests.hateoas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.RepresentationModel;
+
+import br.com.erudio.controllers.BookController;
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.hateoas.LinkFactory;
+import br.com.erudio.hateoas.PagedModelAssembler;
+import br.com.erudio.unittests.mapper.mocks.MockBook;
+
+@ExtendWith(MockitoExtension.class)
+public class PagedModelAssemblerTest {
+
+	@InjectMocks
+	PagedModelAssembler assembler;
+
+	@Spy
+	LinkFactory linkFactory = new LinkFactory();
+
+	List<BookVO> books;
+
+	@BeforeEach
+	public void setUp() {
+		books = new MockBook().mockVOList().subList(3, 6);
+	}
+
+	@Test
+	public void buildsNavigationAndItemLinks() {
+		var pageable = PageRequest.of(1, 3, Sort.by(Direction.DESC, "title"));
+		var page = new PageImpl<>(books, pageable, 9);
+
+		var model = assembler.toPagedModel(page, BookController.class, BookVO::getKey);
+
+		assertEquals("first=/api/book/v1?page=0&size=3&direction=desc,"
+				+ "prev=/api/book/v1?page=0&size=3&direction=desc,"
+				+ "self=/api/book/v1?page=1&size=3&direction=desc,"
+				+ "next=/api/book/v1?page=2&size=3&direction=desc,"
+				+ "last=/api/book/v1?page=2&size=3&direction=desc", links(model));
+		assertEquals(9, model.getMetadata().getTotalElements());
+		assertEquals(3, model.getMetadata().getTotalPages());
+
+		var first = model.getContent().iterator().next().getContent();
+		assertEquals("/api/book/v1/3", first.getRequiredLink(IanaLinkRelations.SELF).getHref());
+	}
+
+	@Test
+	public void leavesOutFirstAndLastOnASinglePage() {
+		var page = new PageImpl<>(books, PageRequest.of(0, 12), 3);
+
+		var model = assembler.toPagedModel(page, BookController.class, BookVO::getKey, "/api/book/v1/search");
+
+		assertEquals("self=/api/book/v1/search?page=0&size=12&direction=asc", links(model));
+	}
+
+	@Test
+	public void slicesLinkOnlyToTheNeighbours() {
+		var slice = new SliceImpl<>(books, PageRequest.of(0, 3), true);
+
+		var model = assembler.toSlicedModel(slice, BookController.class, BookVO::getKey);
+
+		assertEquals("self=/api/book/v1?page=0&size=3&direction=asc&withTotal=false,"
+				+ "next=/api/book/v1?page=1&size=3&direction=asc&withTotal=false", links(model));
+		assertEquals(3, model.getContent().size());
+		assertTrue(model.getContent().stream().allMatch(item -> item.getContent().hasLink(IanaLinkRelations.SELF)));
+	}
+
+	@Test
+	public void sliceLinksStayOnTheCountFreeQuery() {
+		var slice = new SliceImpl<>(books, PageRequest.of(2, 3, Sort.by(Direction.DESC, "title")), true);
+
+		var model = assembler.toSlicedModel(slice, BookController.class, BookVO::getKey);
+
+		assertEquals("/api/book/v1?page=3&size=3&direction=desc&withTotal=false",
+				model.getRequiredLink(IanaLinkRelations.NEXT).getHref());
+		assertEquals("first=/api/book/v1?page=0&size=3&direction=desc&withTotal=false,"
+				+ "prev=/api/book/v1?page=1&size=3&direction=desc&withTotal=false,"
+				+ "self=/api/book/v1?page=2&size=3&direction=desc&withTotal=false,"
+				+ "next=/api/book/v1?page=3&size=3&direction=desc&withTotal=false", links(model));
+	}
+
+	private String links(RepresentationModel<?> model) {
+		return model.getLinks().stream()
+				.map(Link::toString)
+				.map(link -> link.replaceAll("<(.*)>;rel=\"(.*)\"", "$2=$1"))
+				.collect(Collectors.joining(","));
+	}
+}
@@ -0,0 +1,69 @@
+package br.com.erudio.unittests.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.mapper.DozerEntityMapper;
+import br.com.erudio.mapper.EntityMapper;
+import br.com.erudio.mapper.MapStructEntityMapper;
+import br.com.erudio.model.Book;
+import br.com.erudio.model.Person;
+import br.com.erudio.unittests.mapper.mocks.MockBook;
+import br.com.erudio.unittests.mapper.mocks.MockPerson;
+
+public class EntityMapperTest {
+
+	static Stream<EntityMapper> mappers() {
+		return Stream.of(new MapStructEntityMapper(), new DozerEntityMapper());
+	}
+
+	@ParameterizedTest
+	@MethodSource("mappers")
+	public void mapsPersonBothWays(EntityMapper mapper) {
+		Person entity = new MockPerson().mockEntity(7);
+		entity.setEnabled(true);
+
+		PersonVO vo = mapper.toPersonVO(entity);
+		assertEquals(Long.valueOf(7L), vo.getKey());
+		assertEquals("First Name Test7", vo.getFirstName());
+		assertEquals("Last Name Test7", vo.getLastName());
+		assertEquals("Addres Test7", vo.getAddress());
+		assertEquals("Female", vo.getGender());
+		assertEquals(Boolean.TRUE, vo.getEnabled());
+
+		Person output = mapper.toPerson(new MockPerson().mockVO(12));
+		assertEquals(Long.valueOf(12L), output.getId());
+		assertEquals("First Name Test12", output.getFirstName());
+		assertEquals("Last Name Test12", output.getLastName());
+		assertEquals("Addres Test12", output.getAddress());
+		assertEquals("Male", output.getGender());
+		assertNull(output.getVersion());
+	}
+
+	@ParameterizedTest
+	@MethodSource("mappers")
+	public void mapsBookBothWays(EntityMapper mapper) {
+		Book entity = new MockBook().mockEntity(3);
+
+		BookVO vo = mapper.toBookVO(entity);
+		assertEquals(Long.valueOf(3L), vo.getKey());
+		assertEquals("Author Name3", vo.getAuthor());
+		assertEquals("Title Name3", vo.getTitle());
+		assertEquals(20.0, vo.getPrice());
+		assertEquals(entity.getLaunchDate(), vo.getLaunchDate());
+
+		Book output = mapper.toBook(new MockBook().mockVO(5));
+		assertEquals(Long.valueOf(5L), output.getId());
+		assertEquals("Author Name5", output.getAuthor());
+		assertEquals("Title Name5", output.getTitle());
+		assertEquals(30.0, output.getPrice());
+		assertNull(output.getVersion());
+	}
+}
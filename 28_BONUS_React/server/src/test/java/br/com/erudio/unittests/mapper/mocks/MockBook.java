@@ -9,6 +9,9 @@ import br.com.erudio.model.Book;
 
 public class MockBook {
 
+	// one instant for the entity and the VO of a number, so the two compare equal
+	private final Date launchDate = new Date();
+
 	public Book mockEntity() {
 		return mockEntity(0);
 	}
@@ -42,7 +45,7 @@ public class MockBook {
 		
 		book.setId(number.longValue());
 		book.setAuthor("Author Name" + number);
-		book.setLaunchDate(new Date());
+		book.setLaunchDate(launchDate);
 		book.setPrice(5.0 * (1+ number));
 		book.setTitle("Title Name" + number);
 		
@@ -54,7 +57,7 @@ public class MockBook {
 		
 		book.setKey(number.longValue());
 		book.setAuthor("Author Name" + number);
-		book.setLaunchDate(new Date());
+		book.setLaunchDate(launchDate);
 		book.setPrice(5.0 * (1+ number));
 		book.setTitle("Title Name" + number);
 		
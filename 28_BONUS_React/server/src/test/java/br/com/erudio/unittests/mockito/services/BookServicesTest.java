@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
@@ -16,12 +17,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import br.com.erudio.data.vo.v1.BookVO;
 import br.com.erudio.exceptions.RequiredObjectIsNullException;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.hateoas.LinkFactory;
+import br.com.erudio.mapper.EntityMapper;
+import br.com.erudio.mapper.MapStructEntityMapper;
 import br.com.erudio.model.Book;
 import br.com.erudio.reposirories.BookRepository;
+import br.com.erudio.services.CountCache;
 import br.com.erudio.services.BookServices;
 import br.com.erudio.unittests.mapper.mocks.MockBook;
 
@@ -37,6 +44,15 @@ public class BookServicesTest {
 	@Mock
 	BookRepository repository;
 
+	@Mock
+	CountCache countCache;
+
+	@Spy
+	EntityMapper mapper = new MapStructEntityMapper();
+
+	@Spy
+	LinkFactory linkFactory = new LinkFactory();
+
 	@BeforeEach
 	void setUpMocks() throws Exception {
 		input = new MockBook();
@@ -104,17 +120,10 @@ public class BookServicesTest {
 
 	@Test
 	void testUpdate() {
-		Book entity = input.mockEntity(1);
-		entity.setId(1L);
-
-		Book persisted = entity;
-		persisted.setId(1L);
-
 		BookVO vo = input.mockVO(1);
 		vo.setKey(1L);
 
-		when(repository.findById(1L)).thenReturn(Optional.of(entity));
-		when(repository.save(entity)).thenReturn(persisted);
+		when(repository.updateBook(1L, "Author Name1", vo.getLaunchDate(), 10.0, "Title Name1")).thenReturn(1);
 
 		var result = service.update(vo);
 
@@ -145,11 +154,17 @@ public class BookServicesTest {
 
 	@Test
 	void testDelete() {
-		Book entity = input.mockEntity(1);
-		entity.setId(1L);
-
-		when(repository.findById(1L)).thenReturn(Optional.of(entity));
+		when(repository.deleteBook(1L)).thenReturn(1);
 
 		service.delete(1L);
+
+		verify(countCache).evict("book");
+	}
+
+	@Test
+	void testDeleteWithMissingBook() {
+		when(repository.deleteBook(1L)).thenReturn(0);
+
+		assertThrows(ResourceNotFoundException.class, () -> service.delete(1L));
 	}
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package br.com.erudio.unittests.mockito.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.erudio.data.vo.v1.ExportJobVO;
+import br.com.erudio.data.vo.v1.ExportJobVO.Status;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.exceptions.ServiceOverloadedException;
+import br.com.erudio.serialization.ExportWriter.Format;
+import br.com.erudio.services.BookServices;
+import br.com.erudio.services.ExportJobService;
+import br.com.erudio.services.FileStorageService;
+import br.com.erudio.services.PersonServices;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ExportJobServiceTest {
+
+	@InjectMocks
+	ExportJobService service;
+
+	@Mock
+	FileStorageService fileStorageService;
+
+	@Mock
+	PersonServices personServices;
+
+	@Mock
+	BookServices bookServices;
+
+	@TempDir
+	Path uploadDir;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		when(fileStorageService.getFileStorageLocation()).thenReturn(uploadDir);
+		when(personServices.exportPeople(eq(Format.NDJSON), any())).thenAnswer(invocation -> {
+			invocation.<OutputStream>getArgument(1).write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+			return 2L;
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		ReflectionTestUtils.invokeMethod(service, "shutdown");
+	}
+
+	@Test
+	void writesTheExportToAGzipFile() throws Exception {
+		ReflectionTestUtils.invokeMethod(service, "init");
+
+		var queued = service.start("person", Format.NDJSON);
+		var job = await(queued.getId());
+
+		assertEquals(Status.COMPLETED, job.getStatus());
+		assertEquals(2L, job.getRows());
+		assertEquals("export-" + queued.getId() + ".ndjson.gz", job.getFileName());
+		try (var in = new GZIPInputStream(Files.newInputStream(uploadDir.resolve(job.getFileName())))) {
+			assertEquals("{\"id\":1}\n{\"id\":2}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+		}
+		assertEquals(Files.size(uploadDir.resolve(job.getFileName())), job.getSize());
+	}
+
+	@Test
+	void purgesExpiredJobsAndTheirFiles() throws Exception {
+		ReflectionTestUtils.setField(service, "ttlInMilliseconds", 0L);
+		ReflectionTestUtils.invokeMethod(service, "init");
+
+		var job = await(service.start("person", Format.NDJSON).getId());
+		service.purgeExpired();
+
+		assertThrows(ResourceNotFoundException.class, () -> service.findById(job.getId()));
+		assertFalse(Files.exists(uploadDir.resolve(job.getFileName())));
+	}
+
+	@Test
+	void rejectsJobsBeyondTheQueue() throws Exception {
+		ReflectionTestUtils.setField(service, "poolSize", 1);
+		ReflectionTestUtils.setField(service, "queueCapacity", 1);
+		ReflectionTestUtils.invokeMethod(service, "init");
+		var release = new CountDownLatch(1);
+		when(bookServices.exportBooks(any(), any())).thenAnswer(invocation -> {
+			release.await();
+			return 0L;
+		});
+
+		try {
+			service.start("book", Format.CSV);
+			service.start("book", Format.CSV);
+			assertThrows(ServiceOverloadedException.class, () -> service.start("book", Format.CSV));
+		} finally {
+			release.countDown();
+		}
+	}
+
+	@Test
+	void refusesUnknownResources() {
+		ReflectionTestUtils.invokeMethod(service, "init");
+
+		assertThrows(ResourceNotFoundException.class, () -> service.start("author", Format.NDJSON));
+	}
+
+	private ExportJobVO await(String id) throws InterruptedException {
+		for (int i = 0; i < 500; i++) {
+			var job = service.findById(id);
+			if (job.getStatus() == Status.COMPLETED || job.getStatus() == Status.FAILED) return job;
+			Thread.sleep(10);
+		}
+		assertTrue(false, "export job " + id + " did not finish");
+		return null;
+	}
+}
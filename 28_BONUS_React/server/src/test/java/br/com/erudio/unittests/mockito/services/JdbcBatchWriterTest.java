@@ -0,0 +1,143 @@
+package br.com.erudio.unittests.mockito.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.erudio.data.vo.v1.BatchItemResultVO;
+import br.com.erudio.exceptions.BatchTooLargeException;
+import br.com.erudio.model.Person;
+import br.com.erudio.services.JdbcBatchWriter;
+import jakarta.persistence.EntityManagerFactory;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class JdbcBatchWriterTest {
+
+	@InjectMocks
+	JdbcBatchWriter writer;
+
+	@Mock
+	JdbcTemplate jdbcTemplate;
+
+	@Mock
+	TransactionTemplate transactionTemplate;
+
+	@Mock(answer = Answers.RETURNS_DEEP_STUBS)
+	EntityManagerFactory entityManagerFactory;
+
+	@Mock(answer = Answers.RETURNS_DEEP_STUBS)
+	SessionFactory sessionFactory;
+
+	@Mock
+	Connection connection;
+
+	@Mock
+	PreparedStatement ps;
+
+	@Mock
+	ResultSet keys;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		ReflectionTestUtils.setField(writer, "chunkSize", 2);
+		when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+		doAnswer(invocation -> {
+			invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+		// what JdbcTemplate does with the callback, SQLExceptions translated
+		when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation -> {
+			try {
+				return invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection);
+			} catch (SQLException e) {
+				throw new DataIntegrityViolationException("batch", e);
+			}
+		});
+		when(connection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(ps);
+		when(connection.prepareStatement(anyString())).thenReturn(ps);
+		when(ps.getGeneratedKeys()).thenReturn(keys);
+	}
+
+	@Test
+	void insertsInChunksAndReportsEveryItem() throws SQLException {
+		when(ps.executeBatch())
+			.thenReturn(new int[] { Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO })
+			.thenThrow(new BatchUpdateException("Duplicate entry", new int[0]));
+		when(keys.next()).thenReturn(true, true, false);
+		when(keys.getLong(1)).thenReturn(10L, 11L);
+
+		var results = writer.insert("INSERT", List.of("a", "", "b", "c", "d"),
+				item -> item.isEmpty() ? "name is required" : null,
+				(statement, item) -> statement.setString(1, item));
+
+		assertEquals("0:10:CREATED,1:null:INVALID,2:11:CREATED,3:null:FAILED,4:null:FAILED", summary(results));
+		assertEquals("name is required", results.get(1).getMessage());
+		assertEquals("Duplicate entry", results.get(3).getMessage());
+		verify(ps, never()).setString(1, "");
+		verify(sessionFactory.getCache()).evictQueryRegions();
+	}
+
+	@Test
+	void updatesReportTheRowsNotFound() throws SQLException {
+		when(ps.executeBatch()).thenReturn(new int[] { 1, 0 });
+
+		var results = writer.update(Person.class, "UPDATE", Arrays.asList("7", null, "8"),
+				Long::valueOf,
+				item -> null,
+				(statement, item) -> statement.setLong(1, Long.valueOf(item)));
+
+		assertEquals("0:7:UPDATED,1:null:INVALID,2:8:NOT_FOUND", summary(results));
+		verify(entityManagerFactory.getCache()).evict(Person.class, 7L);
+		verify(entityManagerFactory.getCache(), never()).evict(Person.class, 8L);
+		verify(sessionFactory.getCache()).evictQueryRegions();
+	}
+
+	@Test
+	void refusesBatchesOverTheLimit() {
+		ReflectionTestUtils.setField(writer, "maxItems", 2);
+
+		assertThrows(BatchTooLargeException.class, () -> writer.insert("INSERT", List.of("a", "b", "c"),
+				item -> null, (statement, item) -> statement.setString(1, item)));
+	}
+
+	private String summary(List<BatchItemResultVO> results) {
+		return results.stream()
+				.map(r -> r.getIndex() + ":" + r.getId() + ":" + r.getStatus())
+				.collect(Collectors.joining(","));
+	}
+}
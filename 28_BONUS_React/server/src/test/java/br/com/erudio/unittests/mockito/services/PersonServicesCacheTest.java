@@ -0,0 +1,170 @@
+package br.com.erudio.unittests.mockito.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.Link;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.hateoas.LinkFactory;
+import br.com.erudio.hateoas.PagedModelAssembler;
+import br.com.erudio.mapper.EntityMapper;
+import br.com.erudio.mapper.MapStructEntityMapper;
+import br.com.erudio.model.Person;
+import br.com.erudio.reposirories.PersonRepository;
+import br.com.erudio.search.PersonNameIndex;
+import br.com.erudio.serialization.ExportWriter;
+import br.com.erudio.services.CountCache;
+import br.com.erudio.services.JdbcBatchWriter;
+import br.com.erudio.services.PersonServices;
+import br.com.erudio.unittests.mapper.mocks.MockPerson;
+
+// The personVO cache needs the caching proxy, so PersonServices runs in a small context here.
+@SpringJUnitConfig
+class PersonServicesCacheTest {
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager("personVO");
+		}
+
+		@Bean
+		EntityMapper mapper() {
+			return new MapStructEntityMapper();
+		}
+
+		@Bean
+		PersonServices personServices() {
+			return new PersonServices();
+		}
+	}
+
+	@Autowired
+	PersonServices service;
+
+	@Autowired
+	CacheManager cacheManager;
+
+	@MockBean
+	PersonRepository repository;
+
+	@MockBean(name = "linkFactory")
+	LinkFactory linkFactory;
+
+	@MockBean
+	PagedModelAssembler assembler;
+
+	@MockBean
+	CountCache countCache;
+
+	@MockBean
+	PersonNameIndex nameIndex;
+
+	@MockBean
+	JdbcBatchWriter batchWriter;
+
+	@MockBean
+	ObjectMapper objectMapper;
+
+	@MockBean
+	ExportWriter exportWriter;
+
+	@BeforeEach
+	void setUp() {
+		cacheManager.getCache("personVO").clear();
+		base("http://localhost:8080/api/person/v1");
+	}
+
+	@Test
+	void testSecondReadOfAVersionIsServedFromTheCache() {
+		stored(1L, 3L);
+
+		var first = service.findById(1L, 3L);
+		var second = service.findById(1L, 3L);
+
+		assertSame(first, second);
+		assertEquals(3L, second.getVersion());
+		verify(repository, times(1)).findById(1L);
+	}
+
+	@Test
+	void testAWriteIsReadAgainAtItsNewVersion() {
+		stored(1L, 3L);
+		service.findById(1L, 3L);
+
+		// update, disable and batch update all bump the version
+		stored(1L, 4L);
+		var updated = service.findById(1L, 4L);
+
+		assertEquals(4L, updated.getVersion());
+		verify(repository, times(2)).findById(1L);
+	}
+
+	@Test
+	void testARowWrittenSinceItsVersionWasReadIsNotCached() {
+		stored(1L, 4L);
+
+		assertEquals(4L, service.findById(1L, 3L).getVersion());
+		service.findById(1L, 3L);
+
+		verify(repository, times(2)).findById(1L);
+	}
+
+	@Test
+	void testEachBaseUriHasItsOwnEntry() {
+		stored(1L, 3L);
+		service.findById(1L, 3L);
+
+		base("https://erudio.com.br/api/person/v1");
+		var other = service.findById(1L, 3L);
+
+		assertEquals("https://erudio.com.br/api/person/v1/1", other.getRequiredLink("self").getHref());
+		verify(repository, times(2)).findById(1L);
+	}
+
+	@Test
+	void testADeletedRowIsNotServed() {
+		stored(1L, 3L);
+		service.findById(1L, 3L);
+
+		// once deleted there is no version to read, and a null version bypasses the cache
+		when(repository.findById(1L)).thenReturn(Optional.empty());
+
+		assertThrows(ResourceNotFoundException.class, () -> service.findById(1L, null));
+	}
+
+	private void stored(Long id, Long version) {
+		Person entity = new MockPerson().mockEntity(id.intValue());
+		entity.setId(id);
+		entity.setVersion(version);
+		when(repository.findById(id)).thenReturn(Optional.of(entity));
+	}
+
+	private void base(String base) {
+		when(linkFactory.base(any())).thenReturn(base);
+		when(linkFactory.self(any(), any())).thenAnswer(invocation -> Link.of(base + "/" + invocation.getArgument(1)));
+	}
+}
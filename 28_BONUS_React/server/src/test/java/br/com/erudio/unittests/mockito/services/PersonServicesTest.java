@@ -1,12 +1,26 @@
 package br.com.erudio.unittests.mockito.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,14 +30,33 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.data.vo.v1.BatchItemResultVO;
+import br.com.erudio.data.vo.v1.BatchItemResultVO.Status;
+import br.com.erudio.data.vo.v1.PersonLeanVO;
 import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.exceptions.InvalidCursorException;
 import br.com.erudio.exceptions.RequiredObjectIsNullException;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.hateoas.LinkFactory;
+import br.com.erudio.mapper.EntityMapper;
+import br.com.erudio.mapper.MapStructEntityMapper;
 import br.com.erudio.model.Person;
 import br.com.erudio.reposirories.PersonRepository;
+import br.com.erudio.search.PersonNameIndex;
+import br.com.erudio.services.CountCache;
+import br.com.erudio.services.JdbcBatchWriter;
 import br.com.erudio.services.PersonServices;
 import br.com.erudio.unittests.mapper.mocks.MockPerson;
+import br.com.erudio.util.KeysetCursor;
 
 @TestInstance(Lifecycle.PER_CLASS)
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +70,24 @@ class PersonServicesTest {
 	@Mock
 	PersonRepository repository;
 
+	@Mock
+	CountCache countCache;
+
+	@Mock
+	PersonNameIndex nameIndex;
+
+	@Mock
+	JdbcBatchWriter batchWriter;
+
+	@Spy
+	EntityMapper mapper = new MapStructEntityMapper();
+
+	@Spy
+	LinkFactory linkFactory = new LinkFactory();
+
+	@Spy
+	ObjectMapper objectMapper = new ObjectMapper();
+
 	@BeforeEach
 	void setUpMocks() throws Exception {
 		input = new MockPerson();
@@ -103,18 +154,96 @@ class PersonServicesTest {
 	}
 
 	@Test
-	void testUpdate() {
-		Person entity = input.mockEntity(1);
-		entity.setId(1L);
+	void testCreateBatch() {
+		List<PersonVO> people = List.of(input.mockVO(1), input.mockVO(2));
+		when(batchWriter.insert(anyString(), eq(people), any(), any())).thenReturn(List.of(
+				new BatchItemResultVO(0, 1001L, Status.CREATED, null),
+				new BatchItemResultVO(1, null, Status.INVALID, "enabled is required")));
+
+		var results = service.createBatch(people);
+
+		assertEquals(2, results.size());
+		verify(countCache).evict("person");
+		verify(nameIndex).putAll(argThat(indexed -> indexed.size() == 1
+				&& indexed.get(0).getId() == 1001L
+				&& "First Name Test1".equals(indexed.get(0).getFirstName())));
+	}
 
-		Person persisted = entity;
-		persisted.setId(1L);
+	@Test
+	void testCreateBatchWithNoPeople() {
+		assertThrows(RequiredObjectIsNullException.class, () -> service.createBatch(List.of()));
+		verifyNoInteractions(batchWriter, nameIndex);
+	}
+
+	@Test
+	void testImportPeople() throws Exception {
+		ReflectionTestUtils.setField(service, "importChunkSize", 2);
+		List<String> inserted = stubInserts();
+		String body = """
+				{"firstName":"Ayrton","lastName":"Senna","address":"Sao Paulo","gender":"Male","enabled":true}
+				{"firstName":"Bad","enabled":"maybe"}
+				{"firstName":"Nelson","lastName":"Piquet","address":"Rio","gender":"Male","enabled":true}
+				{"firstName":"Emerson","lastName":"Fittipaldi","address":"Sao Paulo","gender":"Male","enabled":true}
+				""";
+		List<String> lines = new ArrayList<>();
+
+		var report = service.importPeople(stream(body), false, progress -> lines.add(progress.getRead() + "/"
+				+ progress.getCreated() + "/" + progress.getInvalid() + "/" + progress.getErrors().size() + "/" + progress.isDone()));
+
+		assertEquals(List.of("Ayrton", "Nelson", "Emerson"), inserted);
+		assertEquals(List.of("2/1/1/1/false", "4/3/1/0/false", "4/3/1/0/true"), lines);
+		assertEquals(4, report.getRead());
+		assertEquals(3, report.getCreated());
+		// each chunk puts the people it created, the index is never reloaded
+		verify(nameIndex).putAll(argThat(indexed -> indexed.size() == 1
+				&& indexed.get(0).getId() == 100L && "Ayrton".equals(indexed.get(0).getFirstName())));
+		verify(nameIndex).putAll(argThat(indexed -> indexed.size() == 2
+				&& indexed.get(1).getId() == 101L && "Emerson".equals(indexed.get(1).getFirstName())));
+		verify(nameIndex, never()).load();
+	}
+
+	@Test
+	void testImportPeopleFromCsv() throws Exception {
+		ReflectionTestUtils.setField(service, "importChunkSize", 2);
+		List<String> inserted = stubInserts();
+		String body = """
+				firstName,lastName,address,gender,enabled
+				Ayrton,Senna,Sao Paulo,Male,true
+				Nelson,Piquet,"Rio de Janeiro, RJ",Male,false
+				""";
+
+		var report = service.importPeople(stream(body), true, progress -> {});
+
+		assertEquals(List.of("Ayrton", "Nelson"), inserted);
+		assertEquals(2, report.getCreated());
+		assertTrue(report.isDone());
+	}
+
+	private List<String> stubInserts() {
+		List<String> inserted = new ArrayList<>();
+		when(batchWriter.insert(anyString(), anyList(), any(), any())).thenAnswer(invocation -> {
+			List<PersonVO> people = invocation.getArgument(1);
+			people.forEach(person -> inserted.add(person.getFirstName()));
+			return IntStream.range(0, people.size())
+					.mapToObj(i -> new BatchItemResultVO(i, 100L + i, Status.CREATED, null))
+					.toList();
+		});
+		return inserted;
+	}
+
+	private ByteArrayInputStream stream(String body) {
+		return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+	}
 
+	@Test
+	void testUpdate() {
 		PersonVO vo = input.mockVO(1);
 		vo.setKey(1L);
 
-		when(repository.findById(1L)).thenReturn(Optional.of(entity));
-		when(repository.save(entity)).thenReturn(persisted);
+		when(repository.updatePerson(1L, "First Name Test1", "Last Name Test1", "Addres Test1", "Female"))
+			.thenReturn(1);
+		when(repository.findPersonVOById(1L)).thenReturn(Optional.of(new PersonVO(1L,
+			"First Name Test1", "Last Name Test1", "Addres Test1", "Female", true)));
 
 		var result = service.update(vo);
 
@@ -128,6 +257,35 @@ class PersonServicesTest {
 		assertEquals("First Name Test1", result.getFirstName());
 		assertEquals("Last Name Test1", result.getLastName());
 		assertEquals("Female", result.getGender());
+		verify(nameIndex).putAfterCommit(any(Person.class));
+	}
+
+	@Test
+	void testUpdateReturnsThePersistedEnabled() {
+		PersonVO vo = input.mockVO(1);
+		vo.setKey(1L);
+
+		when(repository.updatePerson(eq(1L), any(), any(), any(), any())).thenReturn(1);
+		when(repository.findPersonVOById(1L)).thenReturn(Optional.of(new PersonVO(1L,
+			"First Name Test1", "Last Name Test1", "Addres Test1", "Female", true)));
+
+		// the UPDATE does not write enabled, so neither a null nor a false in the request shows up
+		vo.setEnabled(null);
+		assertTrue(service.update(vo).getEnabled());
+
+		vo.setEnabled(false);
+		assertTrue(service.update(vo).getEnabled());
+	}
+
+	@Test
+	void testUpdateWithMissingPerson() {
+		PersonVO vo = input.mockVO(1);
+		vo.setKey(1L);
+
+		when(repository.updatePerson(eq(1L), any(), any(), any(), any())).thenReturn(0);
+
+		assertThrows(ResourceNotFoundException.class, () -> service.update(vo));
+		verifyNoInteractions(nameIndex);
 	}
 
 	@Test
@@ -145,21 +303,79 @@ class PersonServicesTest {
 
 	@Test
 	void testDelete() {
-		Person entity = input.mockEntity(1);
-		entity.setId(1L);
-
-		when(repository.findById(1L)).thenReturn(Optional.of(entity));
+		when(repository.deletePerson(1L)).thenReturn(1);
 
 		service.delete(1L);
+
+		verify(nameIndex).removeAfterCommit(1L);
+		verify(countCache).evict("person");
 	}
-}
 
+	@Test
+	void testDeleteWithMissingPerson() {
+		when(repository.deletePerson(1L)).thenReturn(0);
 
+		assertThrows(ResourceNotFoundException.class, () -> service.delete(1L));
+		verifyNoInteractions(countCache);
+	}
 
+	@Test
+	void testDisablePerson() {
+		PersonVO vo = input.mockVO(1);
+		vo.setKey(1L);
+		vo.setEnabled(false);
+
+		when(repository.disablePerson(1L)).thenReturn(1);
+		when(repository.findPersonVOById(1L)).thenReturn(Optional.of(vo));
+
+		var result = service.disablePerson(1L);
+
+		assertFalse(result.getEnabled());
+		assertTrue(result.toString().contains("links: [</api/person/v1/1>;rel=\"self\"]"));
+	}
+
+	@Test
+	void testFindAllByCursor() {
+		var people = input.mockVOList();
 
+		when(repository.findPersonVOs(any(Pageable.class))).thenReturn(people.subList(0, 4));
+		when(repository.findPersonsAfter(eq("First Name Test2"), eq(2L), any(Pageable.class)))
+			.thenReturn(people.subList(3, 5));
 
+		var firstPage = service.findAllByCursor("", 3, "asc");
 
+		assertEquals(3, firstPage.getContent().size());
+		assertTrue(firstPage.getMetadata() == null);
+		var next = firstPage.getLink(IanaLinkRelations.NEXT).orElseThrow().getHref();
+		var cursor = next.substring(next.indexOf("cursor=") + "cursor=".length());
+		assertEquals(new KeysetCursor(false, "First Name Test2", 2L), KeysetCursor.decode(cursor));
 
+		var lastPage = service.findAllByCursor(cursor, 3, "asc");
 
+		assertEquals(2, lastPage.getContent().size());
+		assertTrue(lastPage.getLink(IanaLinkRelations.NEXT).isEmpty());
+	}
+
+	@Test
+	void testFindAllLean() {
+		var people = List.of(
+			new PersonLeanVO(1L, "Ayrton", "Senna", "Sao Paulo", "Male", true),
+			new PersonLeanVO(2L, "Leandro", "Costa", "Uberlandia", "Male", true));
 
+		when(repository.findPersonLeanVOs(any(Pageable.class))).thenReturn(people);
 
+		var lean = service.findAllLean(PageRequest.of(0, 12), true);
+
+		assertEquals(people, lean.getContent());
+		assertEquals(0, lean.getNumber());
+		assertEquals(12, lean.getSize());
+		assertEquals(2L, lean.getTotalElements());
+		assertEquals(1, lean.getTotalPages());
+		assertFalse(lean.isHasNext());
+	}
+
+	@Test
+	void testFindAllWithInvalidCursor() {
+		assertThrows(InvalidCursorException.class, () -> service.findAllByCursor("not a cursor", 3, "asc"));
+	}
+}
@@ -0,0 +1,76 @@
+package br.com.erudio.unittests.mockito.services;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.reposirories.UserRepository;
+import br.com.erudio.security.jwt.JwtRevocationList;
+import br.com.erudio.services.UserServices;
+
+@TestInstance(Lifecycle.PER_CLASS)
+@ExtendWith(MockitoExtension.class)
+public class UserServicesTest {
+
+	@InjectMocks
+	private UserServices service;
+
+	@Mock
+	UserRepository repository;
+
+	@Mock
+	JwtRevocationList revocationList;
+
+	@BeforeEach
+	void setUpMocks() throws Exception {
+		MockitoAnnotations.openMocks(this);
+	}
+
+	@Test
+	void testDisableUserRevokesTokens() {
+		when(repository.disableUser(eq("leandro"), any())).thenReturn(1);
+
+		service.disableUser("leandro");
+
+		// the database and the in memory list get the same time, so every node agrees
+		var revokedAt = ArgumentCaptor.forClass(Date.class);
+		verify(repository).disableUser(eq("leandro"), revokedAt.capture());
+		verify(revocationList).revoke("leandro", revokedAt.getValue());
+	}
+
+	@Test
+	void testLockUserRevokesTokens() {
+		when(repository.lockUser(eq("leandro"), any())).thenReturn(1);
+
+		service.lockUser("leandro");
+
+		var revokedAt = ArgumentCaptor.forClass(Date.class);
+		verify(repository).lockUser(eq("leandro"), revokedAt.capture());
+		verify(revocationList).revoke("leandro", revokedAt.getValue());
+	}
+
+	@Test
+	void testDisableUnknownUser() {
+		when(repository.disableUser(eq("nobody"), any())).thenReturn(0);
+
+		assertThrows(ResourceNotFoundException.class, () -> service.disableUser("nobody"));
+		verify(revocationList, never()).revoke(any(), any());
+	}
+}
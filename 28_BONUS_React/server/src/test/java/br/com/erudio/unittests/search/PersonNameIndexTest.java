@@ -0,0 +1,107 @@
+package br.com.erudio.unittests.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.erudio.data.vo.v1.PersonSuggestionVO;
+import br.com.erudio.model.Person;
+import br.com.erudio.reposirories.PersonRepository;
+import br.com.erudio.search.PersonNameIndex;
+
+public class PersonNameIndexTest {
+
+	private PersonNameIndex index;
+
+	@BeforeEach
+	public void setUp() {
+		index = new PersonNameIndex();
+		index.put(person(1L, "Ayrton", "Senna"));
+		index.put(person(2L, "Leandro", "Costa"));
+		index.put(person(3L, "Alan", "Ayres"));
+		index.put(person(4L, "Sennar", "Ayala"));
+	}
+
+	@Test
+	public void testSuggestMatchesFirstAndLastNames() {
+		List<Long> ids = index.suggest("AY", 10).stream().map(PersonSuggestionVO::getId).toList();
+
+		assertEquals(List.of(4L, 3L, 1L), ids);
+	}
+
+	@Test
+	public void testSuggestHonoursLimit() {
+		assertEquals(2, index.suggest("ay", 2).size());
+		assertTrue(index.suggest("x", 10).isEmpty());
+		assertTrue(index.suggest("", 10).isEmpty());
+	}
+
+	@Test
+	public void testPutAndRemoveUpdateTheIndex() {
+		index.put(person(2L, "Leonardo", "Costa"));
+		assertTrue(index.suggest("leandro", 10).isEmpty());
+		assertEquals("Leonardo", index.suggest("leo", 10).get(0).getFirstName());
+
+		index.remove(1L);
+		assertEquals(List.of(4L), index.suggest("senna", 10).stream().map(PersonSuggestionVO::getId).toList());
+		assertEquals(3, index.size());
+	}
+
+	@Test
+	public void testLoadWalksTheKeysetAndKeepsNewerWrites() {
+		PersonRepository repository = mock(PersonRepository.class);
+		when(repository.findSuggestionsAfter(eq(Long.MIN_VALUE), any())).thenReturn(List.of(
+			new PersonSuggestionVO(5L, "Ayla", "Kent"), new PersonSuggestionVO(6L, "Bruno", "Ayres")));
+		when(repository.findSuggestionsAfter(eq(6L), any())).thenReturn(List.of(
+			new PersonSuggestionVO(2L, "Leandro", "Costa")));
+		ReflectionTestUtils.setField(index, "repository", repository);
+		ReflectionTestUtils.setField(index, "loadBatchSize", 2);
+
+		index.put(person(2L, "Leonardo", "Costa"));
+		index.load();
+
+		assertEquals(6, index.size());
+		assertEquals(List.of(4L, 5L, 3L, 6L, 1L), index.suggest("ay", 10).stream().map(PersonSuggestionVO::getId).toList());
+		// the load read person 2 before it was renamed
+		assertTrue(index.suggest("leandro", 10).isEmpty());
+	}
+
+	@Test
+	public void testLoadSkipsPeopleRemovedWhileItRuns() {
+		PersonRepository repository = mock(PersonRepository.class);
+		// person 7 is deleted after the load has read it but before the load indexes it
+		when(repository.findSuggestionsAfter(eq(Long.MIN_VALUE), any())).thenAnswer(invocation -> {
+			index.remove(7L);
+			return List.of(new PersonSuggestionVO(5L, "Ayla", "Kent"), new PersonSuggestionVO(7L, "Ayumi", "Hara"));
+		});
+		when(repository.findSuggestionsAfter(eq(7L), any())).thenReturn(List.of());
+		ReflectionTestUtils.setField(index, "repository", repository);
+		ReflectionTestUtils.setField(index, "loadBatchSize", 2);
+
+		index.load();
+
+		assertEquals(5, index.size());
+		assertTrue(index.suggest("ayumi", 10).isEmpty());
+
+		// the tombstone only lives for that load
+		index.put(person(7L, "Ayumi", "Hara"));
+		assertEquals(List.of(7L), index.suggest("ayumi", 10).stream().map(PersonSuggestionVO::getId).toList());
+	}
+
+	private Person person(Long id, String firstName, String lastName) {
+		Person person = new Person();
+		person.setId(id);
+		person.setFirstName(firstName);
+		person.setLastName(lastName);
+		return person;
+	}
+}
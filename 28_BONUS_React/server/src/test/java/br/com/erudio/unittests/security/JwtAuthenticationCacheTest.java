@@ -0,0 +1,80 @@
+package br.com.erudio.unittests.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+
+import br.com.erudio.security.jwt.JwtAuthenticationCache;
+
+public class JwtAuthenticationCacheTest {
+
+	private static final Algorithm ALGORITHM = Algorithm.HMAC256("test-secret");
+
+	private JwtAuthenticationCache cache;
+
+	@BeforeEach
+	public void setUp() {
+		cache = new JwtAuthenticationCache();
+	}
+
+	@Test
+	public void testHitAfterPut() {
+		String token = token("leandro", 60000);
+		Authentication auth = authentication("leandro");
+
+		assertNull(cache.get(token));
+		cache.put(JWT.decode(token), auth);
+
+		assertSame(auth, cache.get(token));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public void testExpiredEntryIsEvicted() {
+		String token = token("leandro", -1000);
+		cache.put(JWT.decode(token), authentication("leandro"));
+
+		assertNull(cache.get(token));
+		assertEquals(0, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+	}
+
+	@Test
+	public void testInvalidateUser() {
+		String leandro = token("leandro", 60000);
+		String flavio = token("flavio", 60000);
+		cache.put(JWT.decode(leandro), authentication("leandro"));
+		cache.put(JWT.decode(flavio), authentication("flavio"));
+
+		cache.invalidate("leandro");
+
+		assertNull(cache.get(leandro));
+		assertEquals("flavio", cache.get(flavio).getName());
+		assertEquals(1, cache.getEvictionCount());
+	}
+
+	private String token(String username, long validity) {
+		return JWT.create()
+			.withSubject(username)
+			.withExpiresAt(new Date(System.currentTimeMillis() + validity))
+			.sign(ALGORITHM);
+	}
+
+	private Authentication authentication(String username) {
+		return new UsernamePasswordAuthenticationToken(username, "",
+			List.of(new SimpleGrantedAuthority("ADMIN")));
+	}
+}
@@ -0,0 +1,122 @@
+package br.com.erudio.unittests.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+import br.com.erudio.model.JwtSigningKey;
+import br.com.erudio.reposirories.JwtSigningKeyRepository;
+import br.com.erudio.security.jwt.JwtKeyManager;
+
+public class JwtKeyManagerTest {
+
+	// the jwt_signing_key table every node reads
+	private Map<String, JwtSigningKey> table;
+	private JwtSigningKeyRepository repository;
+
+	@BeforeEach
+	public void setUp() {
+		table = new LinkedHashMap<>();
+		repository = mock(JwtSigningKeyRepository.class);
+		when(repository.save(any())).thenAnswer(invocation -> {
+			JwtSigningKey key = invocation.getArgument(0);
+			table.put(key.getKid(), key);
+			return key;
+		});
+		doAnswer(invocation -> table.remove(invocation.<JwtSigningKey>getArgument(0).getKid()))
+			.when(repository).delete(any());
+		when(repository.findByAlgorithm(anyString())).thenAnswer(invocation -> table.values().stream()
+			.filter(key -> key.getAlgorithm().equals(invocation.getArgument(0)))
+			.sorted(Comparator.comparing(JwtSigningKey::getCreatedAt).reversed())
+			.toList());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "RS256", "ES256" })
+	public void testRotatedKeysStillVerify(String algorithm) {
+		JwtKeyManager keyManager = keyManager(algorithm);
+
+		String token = JWT.create().withSubject("leandro").sign(keyManager.getSigningAlgorithm());
+		String kid = JWT.decode(token).getKeyId();
+		assertNotNull(kid);
+
+		keyManager.rotate();
+		String rotatedToken = JWT.create().withSubject("leandro").sign(keyManager.getSigningAlgorithm());
+		assertNotEquals(kid, JWT.decode(rotatedToken).getKeyId());
+
+		var verifier = JWT.require(keyManager.getVerificationAlgorithm()).build();
+		DecodedJWT decoded = verifier.verify(token);
+		assertEquals("leandro", decoded.getSubject());
+		assertEquals("leandro", verifier.verify(rotatedToken).getSubject());
+
+		List<?> keys = (List<?>) keyManager.getJwks().get("keys");
+		assertEquals(2, keys.size());
+		assertEquals(algorithm, ((Map<?, ?>) keys.get(0)).get("alg"));
+		assertNull(table.get(kid).getPrivateKey());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "RS256", "ES256" })
+	public void testSecondNodeVerifiesTokensOfTheFirst(String algorithm) {
+		JwtKeyManager first = keyManager(algorithm);
+		JwtKeyManager second = keyManager(algorithm);
+
+		String token = JWT.create().withSubject("leandro").sign(first.getSigningAlgorithm());
+		String secondToken = JWT.create().withSubject("flavio").sign(second.getSigningAlgorithm());
+		assertEquals(1, table.size());
+		assertEquals(JWT.decode(token).getKeyId(), JWT.decode(secondToken).getKeyId());
+		assertEquals("leandro", JWT.require(second.getVerificationAlgorithm()).build().verify(token).getSubject());
+
+		// a kid the second node has not seen yet is read from the table on demand
+		first.rotate();
+		String rotatedToken = JWT.create().withSubject("leandro").sign(first.getSigningAlgorithm());
+		ReflectionTestUtils.setField(second, "loadedAt", 0L);
+		assertEquals("leandro", JWT.require(second.getVerificationAlgorithm()).build().verify(rotatedToken).getSubject());
+		assertEquals(2, ((List<?>) second.getJwks().get("keys")).size());
+	}
+
+	@Test
+	public void testPrivateKeysAreStoredEncrypted() {
+		JwtKeyManager keyManager = keyManager("RS256");
+
+		JwtSigningKey stored = table.values().iterator().next();
+		byte[] privateKey = Base64.getDecoder().decode(stored.getPrivateKey());
+		// an unencrypted PKCS#8 key starts with a DER SEQUENCE
+		assertFalse(privateKey[0] == 0x30 && privateKey[1] == (byte) 0x82);
+
+		ReflectionTestUtils.setField(keyManager, "secretKey", "another-secret");
+		keyManager.refresh();
+		assertNotEquals(stored.getKid(), JWT.decode(
+				JWT.create().withSubject("leandro").sign(keyManager.getSigningAlgorithm())).getKeyId());
+	}
+
+	private JwtKeyManager keyManager(String algorithm) {
+		JwtKeyManager keyManager = new JwtKeyManager();
+		ReflectionTestUtils.setField(keyManager, "algorithmName", algorithm);
+		ReflectionTestUtils.setField(keyManager, "repository", repository);
+		ReflectionTestUtils.invokeMethod(keyManager, "init");
+		return keyManager;
+	}
+}
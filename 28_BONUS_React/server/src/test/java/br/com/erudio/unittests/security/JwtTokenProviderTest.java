@@ -0,0 +1,124 @@
+package br.com.erudio.unittests.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import br.com.erudio.exceptions.InvalidJwtAuthenticationException;
+import br.com.erudio.reposirories.UserRepository;
+import br.com.erudio.reposirories.UserRepository.TokenRevocation;
+import br.com.erudio.security.jwt.JwtAuthenticationCache;
+import br.com.erudio.security.jwt.JwtKeyManager;
+import br.com.erudio.security.jwt.JwtRevocationList;
+import br.com.erudio.security.jwt.JwtTokenProvider;
+import br.com.erudio.security.jwt.RefreshTokenStore;
+
+public class JwtTokenProviderTest {
+
+	private UserDetailsService userDetailsService;
+	private JwtAuthenticationCache authenticationCache;
+	private RefreshTokenStore refreshTokenStore;
+	private JwtRevocationList revocationList;
+	private JwtTokenProvider provider;
+
+	@BeforeEach
+	public void setUp() {
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+		userDetailsService = mock(UserDetailsService.class);
+		authenticationCache = new JwtAuthenticationCache();
+		refreshTokenStore = new RefreshTokenStore();
+		revocationList = new JwtRevocationList(authenticationCache, refreshTokenStore);
+		provider = provider(revocationList);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	public void testClaimsModeDoesNotLoadTheUser() {
+		ReflectionTestUtils.setField(provider, "authenticationMode", "claims");
+		var token = provider.createAccessToken("leandro", List.of("ADMIN", "MANAGER"));
+
+		Authentication authentication = provider.getAuthentication(token.getAccessToken());
+
+		assertNotNull(authentication);
+		assertEquals("leandro", ((UserDetails) authentication.getPrincipal()).getUsername());
+		assertEquals(List.of("ADMIN", "MANAGER"),
+				authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+		verifyNoInteractions(userDetailsService);
+	}
+
+	@Test
+	public void testRevokedUserTokensAreRejected() {
+		ReflectionTestUtils.setField(provider, "authenticationMode", "claims");
+		var token = provider.createAccessToken("leandro", List.of("ADMIN"));
+		var other = provider.createAccessToken("flavio", List.of("COMMON_USER"));
+
+		revocationList.revoke("leandro");
+
+		assertNull(provider.getAuthentication(token.getAccessToken()));
+		assertThrows(InvalidJwtAuthenticationException.class, () -> provider.refreshToken(token.getRefreshToken()));
+		assertNotNull(provider.getAuthentication(other.getAccessToken()));
+
+		ReflectionTestUtils.setField(provider, "authenticationMode", "database");
+		assertNull(provider.getAuthentication(token.getAccessToken()));
+		verifyNoInteractions(userDetailsService);
+	}
+
+	@Test
+	public void testRevocationMadeOnAnotherNodeIsPolled() {
+		ReflectionTestUtils.setField(provider, "authenticationMode", "claims");
+		var token = provider.createAccessToken("leandro", List.of("ADMIN"));
+		var decoded = provider.decodedToken(token.getAccessToken());
+		authenticationCache.put(decoded, provider.getAuthentication(decoded));
+		assertNotNull(authenticationCache.get(token.getAccessToken()));
+
+		TokenRevocation revocation = mock(TokenRevocation.class);
+		when(revocation.getUserName()).thenReturn("leandro");
+		when(revocation.getTokensRevokedAt()).thenReturn(new Date());
+		UserRepository userRepository = mock(UserRepository.class);
+		when(userRepository.findTokensRevokedSince(any())).thenReturn(List.of(revocation));
+		ReflectionTestUtils.setField(revocationList, "userRepository", userRepository);
+
+		revocationList.poll();
+
+		verify(userRepository).findTokensRevokedSince(any());
+		assertNull(authenticationCache.get(token.getAccessToken()));
+		assertNull(provider.getAuthentication(token.getAccessToken()));
+	}
+
+	private JwtTokenProvider provider(JwtRevocationList revocationList) {
+		JwtKeyManager keyManager = new JwtKeyManager();
+		JwtTokenProvider provider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(provider, "userDetailsService", userDetailsService);
+		ReflectionTestUtils.setField(provider, "revocationList", revocationList);
+		ReflectionTestUtils.setField(provider, "refreshTokenStore", refreshTokenStore);
+		ReflectionTestUtils.setField(provider, "keyManager", keyManager);
+		ReflectionTestUtils.invokeMethod(provider, "init");
+		return provider;
+	}
+}
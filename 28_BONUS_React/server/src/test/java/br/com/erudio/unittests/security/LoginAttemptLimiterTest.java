@@ -0,0 +1,145 @@
+package br.com.erudio.unittests.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.erudio.exceptions.TooManyRequestsException;
+import br.com.erudio.security.signin.LoginAttemptLimiter;
+
+public class LoginAttemptLimiterTest {
+
+	private LoginAttemptLimiter limiter;
+
+	@BeforeEach
+	public void setUp() {
+		limiter = new LoginAttemptLimiter();
+		ReflectionTestUtils.setField(limiter, "usernameMaxAttempts", 3);
+		ReflectionTestUtils.setField(limiter, "ipMaxAttempts", 5);
+	}
+
+	@Test
+	public void testBlocksUsernameAfterMaxFailures() {
+		for (int i = 0; i < 3; i++) {
+			limiter.acquire("leandro", "10.0.0." + i);
+		}
+
+		assertThrows(TooManyRequestsException.class, () -> limiter.acquire("Leandro", "10.0.0.9"));
+		limiter.acquire("flavio", "10.0.0.9");
+	}
+
+	@Test
+	public void testBlocksIpAcrossUsernames() {
+		for (int i = 0; i < 5; i++) {
+			limiter.acquire("user" + i, "10.0.0.1");
+		}
+
+		assertThrows(TooManyRequestsException.class, () -> limiter.acquire("flavio", "10.0.0.1"));
+		limiter.acquire("flavio", "10.0.0.2");
+	}
+
+	@Test
+	public void testSuccessClearsUsername() {
+		for (int i = 0; i < 2; i++) {
+			limiter.acquire("leandro", "10.0.0.1");
+		}
+		limiter.acquire("leandro", "10.0.0.1").succeeded();
+
+		for (int i = 0; i < 3; i++) {
+			limiter.acquire("leandro", "10.0.0.2");
+		}
+	}
+
+	@Test
+	public void testCancelledAttemptsDoNotCount() {
+		for (int i = 0; i < 10; i++) {
+			limiter.acquire("leandro", "10.0.0.1").cancel();
+		}
+
+		limiter.acquire("leandro", "10.0.0.1");
+	}
+
+	@Test
+	public void testCancelGivesBackASlotAfterTheRingWraps() throws InterruptedException {
+		ReflectionTestUtils.setField(limiter, "usernameWindowInMilliseconds", 1000L);
+		limiter.acquire("leandro", "10.0.0.1");
+		Thread.sleep(1100);
+		limiter.acquire("leandro", "10.0.0.1");
+		var middle = limiter.acquire("leandro", "10.0.0.1");
+		limiter.acquire("leandro", "10.0.0.1");
+		assertThrows(TooManyRequestsException.class, () -> limiter.acquire("leandro", "10.0.0.2"));
+
+		middle.cancel();
+		limiter.acquire("leandro", "10.0.0.2");
+		assertThrows(TooManyRequestsException.class, () -> limiter.acquire("leandro", "10.0.0.2"));
+	}
+
+	@Test
+	public void testConcurrentBurstGetsOnlyMaxAttemptsThrough() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger acquired = new AtomicInteger();
+		AtomicInteger throttled = new AtomicInteger();
+		for (int i = 0; i < 64; i++) {
+			executor.execute(() -> {
+				try {
+					start.await();
+					limiter.acquire("leandro", "10.0.0.1");
+					acquired.incrementAndGet();
+				} catch (TooManyRequestsException e) {
+					throttled.incrementAndGet();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+		start.countDown();
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		assertEquals(3, acquired.get());
+		assertEquals(61, throttled.get());
+	}
+
+	@Test
+	public void testRetryAfterIsWhenTheOldestFailureLeaves() throws InterruptedException {
+		ReflectionTestUtils.setField(limiter, "usernameWindowInMilliseconds", 3000L);
+		limiter.acquire("leandro", "10.0.0.1");
+		Thread.sleep(1100);
+		limiter.acquire("leandro", "10.0.0.1");
+		limiter.acquire("leandro", "10.0.0.1");
+
+		var e = assertThrows(TooManyRequestsException.class, () -> limiter.acquire("leandro", "10.0.0.2"));
+		assertEquals(2, e.getRetryAfterSeconds());
+
+		// only the IP window is full, so its own 60 seconds apply, not the username's 300
+		for (int i = 0; i < 5; i++) {
+			limiter.acquire("user" + i, "10.0.0.3");
+		}
+		e = assertThrows(TooManyRequestsException.class, () -> limiter.acquire("flavio", "10.0.0.3"));
+		assertEquals(60, e.getRetryAfterSeconds());
+	}
+
+	@Test
+	public void testFailuresLeaveTheWindow() {
+		ReflectionTestUtils.setField(limiter, "usernameWindowInMilliseconds", 0L);
+		ReflectionTestUtils.setField(limiter, "ipWindowInMilliseconds", 0L);
+		for (int i = 0; i < 5; i++) {
+			limiter.acquire("leandro", "10.0.0.1");
+		}
+
+		limiter.acquire("leandro", "10.0.0.1");
+		limiter.purgeIdle();
+		assertEquals(0, limiter.size());
+	}
+}
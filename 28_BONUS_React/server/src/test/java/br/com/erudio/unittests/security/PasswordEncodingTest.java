@@ -0,0 +1,118 @@
+package br.com.erudio.unittests.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.erudio.config.SecurityConfig;
+import br.com.erudio.model.User;
+import br.com.erudio.reposirories.UserRepository;
+import br.com.erudio.services.UserServices;
+
+public class PasswordEncodingTest {
+
+	private UserRepository repository;
+	private User user;
+
+	@BeforeEach
+	public void setUp() {
+		user = new User();
+		user.setUserName("leandro");
+		user.setAccountNonExpired(true);
+		user.setAccountNonLocked(true);
+		user.setCredentialsNonExpired(true);
+		user.setEnabled(true);
+		user.setPermissions(List.of());
+
+		repository = mock(UserRepository.class);
+		when(repository.findByUsername("leandro")).thenReturn(user);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "pbkdf2", "bcrypt", "argon2" })
+	public void testEveryEncodingIdBuildsAWorkingEncoder(String encodingId) {
+		PasswordEncoder encoder = encoder(encodingId);
+
+		String hash = encoder.encode("admin123");
+
+		assertTrue(hash.startsWith("{" + encodingId + "}"));
+		assertTrue(encoder.matches("admin123", hash));
+		assertFalse(encoder.matches("admin124", hash));
+		assertFalse(encoder.upgradeEncoding(hash));
+	}
+
+	// the hashes of V8__Insert_Data_In_Users.sql carry no {id} prefix
+	@ParameterizedTest
+	@ValueSource(strings = { "pbkdf2", "bcrypt", "argon2" })
+	public void testLegacyHashIsRehashedOnSignin(String encodingId) {
+		user.setPassword(new Pbkdf2PasswordEncoder("", 8, 185000, SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256)
+				.encode("admin123"));
+		PasswordEncoder encoder = encoder(encodingId);
+
+		provider(encoder).authenticate(new UsernamePasswordAuthenticationToken("leandro", "admin123"));
+
+		var password = ArgumentCaptor.forClass(String.class);
+		verify(repository).updatePassword(eq("leandro"), password.capture());
+		assertTrue(password.getValue().startsWith("{" + encodingId + "}"));
+		assertTrue(encoder.matches("admin123", password.getValue()));
+		assertEquals(password.getValue(), user.getPassword());
+	}
+
+	@Test
+	public void testLowerCostHashIsRehashedOnSignin() {
+		user.setPassword("{bcrypt}" + new BCryptPasswordEncoder(4).encode("admin123"));
+		PasswordEncoder encoder = encoder("bcrypt");
+
+		provider(encoder).authenticate(new UsernamePasswordAuthenticationToken("leandro", "admin123"));
+
+		var password = ArgumentCaptor.forClass(String.class);
+		verify(repository).updatePassword(eq("leandro"), password.capture());
+		assertTrue(password.getValue().startsWith("{bcrypt}$2a$10$"));
+	}
+
+	@Test
+	public void testCurrentHashIsNotRehashed() {
+		PasswordEncoder encoder = encoder("bcrypt");
+		user.setPassword(encoder.encode("admin123"));
+
+		provider(encoder).authenticate(new UsernamePasswordAuthenticationToken("leandro", "admin123"));
+
+		verify(repository, never()).updatePassword(anyString(), anyString());
+	}
+
+	// wired as Spring Security does when a UserDetailsPasswordService bean exists
+	private DaoAuthenticationProvider provider(PasswordEncoder encoder) {
+		var userServices = new UserServices(repository);
+		var provider = new DaoAuthenticationProvider(encoder);
+		provider.setUserDetailsService(userServices);
+		provider.setUserDetailsPasswordService(userServices);
+		return provider;
+	}
+
+	private PasswordEncoder encoder(String encodingId) {
+		var config = new SecurityConfig();
+		ReflectionTestUtils.setField(config, "encodingId", encodingId);
+		return ReflectionTestUtils.invokeMethod(config, "passWordEncoder");
+	}
+}
@@ -0,0 +1,143 @@
+package br.com.erudio.unittests.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.erudio.model.RefreshToken;
+import br.com.erudio.reposirories.RefreshTokenRepository;
+
+import br.com.erudio.security.jwt.RefreshTokenStore;
+import br.com.erudio.security.jwt.RefreshTokenStore.Rotation;
+
+public class RefreshTokenStoreTest {
+
+	private RefreshTokenStore store;
+	private Date expiresAt;
+
+	@BeforeEach
+	public void setUp() {
+		store = new RefreshTokenStore();
+		expiresAt = new Date(System.currentTimeMillis() + 60000);
+	}
+
+	@Test
+	public void testRotateOnce() {
+		store.issue("jti-1", "family-1", "leandro", expiresAt);
+
+		assertEquals(Rotation.ROTATED, store.rotate("jti-1", "family-1"));
+		assertFalse(store.isRevoked("family-1"));
+	}
+
+	@Test
+	public void testReuseRevokesFamily() {
+		store.issue("jti-1", "family-1", "leandro", expiresAt);
+		store.rotate("jti-1", "family-1");
+		store.issue("jti-2", "family-1", "leandro", expiresAt);
+
+		assertEquals(Rotation.REUSED, store.rotate("jti-1", "family-1"));
+		assertTrue(store.isRevoked("family-1"));
+		assertEquals(Rotation.REVOKED, store.rotate("jti-2", "family-1"));
+	}
+
+	@Test
+	public void testUnknownToken() {
+		store.issue("jti-1", "family-1", "leandro", expiresAt);
+
+		assertEquals(Rotation.UNKNOWN, store.rotate("jti-2", "family-1"));
+		assertEquals(Rotation.UNKNOWN, store.rotate("jti-1", "family-2"));
+		assertEquals(Rotation.UNKNOWN, store.rotate(null, null));
+	}
+
+	@Test
+	public void testRevokeUser() {
+		store.issue("jti-1", "family-1", "leandro", expiresAt);
+		store.issue("jti-2", "family-2", "flavio", expiresAt);
+
+		store.revokeUser("leandro");
+
+		assertEquals(Rotation.REVOKED, store.rotate("jti-1", "family-1"));
+		assertEquals(Rotation.ROTATED, store.rotate("jti-2", "family-2"));
+	}
+
+	@Test
+	public void testPurgeExpired() {
+		store.issue("jti-1", "family-1", "leandro", new Date(System.currentTimeMillis() - 1000));
+		store.issue("jti-2", "family-2", "leandro", expiresAt);
+
+		store.purgeExpired();
+
+		assertEquals(1, store.size());
+	}
+
+	@Test
+	public void testSecondNodeReadsThroughAndWritesThrough() {
+		Map<String, RefreshToken> table = new LinkedHashMap<>();
+		RefreshTokenRepository repository = repository(table);
+		RefreshTokenStore first = persistentStore(repository);
+		RefreshTokenStore second = persistentStore(repository);
+
+		first.issue("jti-1", "family-1", "leandro", expiresAt);
+
+		// the second node never saw jti-1 but finds it in the table
+		assertEquals(Rotation.ROTATED, second.rotate("jti-1", "family-1"));
+		assertTrue(table.get("jti-1").getUsed());
+
+		// the first node still holds jti-1 as unused, the table tells it the token was exchanged
+		assertEquals(Rotation.REUSED, first.rotate("jti-1", "family-1"));
+		assertTrue(table.get("jti-1").getRevoked());
+
+		first.issue("jti-2", "family-2", "flavio", expiresAt);
+		second.revokeUser("flavio");
+		assertEquals(Rotation.REVOKED, first.rotate("jti-2", "family-2"));
+	}
+
+	private RefreshTokenStore persistentStore(RefreshTokenRepository repository) {
+		RefreshTokenStore store = new RefreshTokenStore();
+		ReflectionTestUtils.setField(store, "persistenceEnabled", true);
+		ReflectionTestUtils.setField(store, "repository", repository);
+		return store;
+	}
+
+	// the refresh_token table every node reads
+	private RefreshTokenRepository repository(Map<String, RefreshToken> table) {
+		RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+		when(repository.save(any())).thenAnswer(invocation -> {
+			RefreshToken token = invocation.getArgument(0);
+			table.put(token.getJti(), token);
+			return token;
+		});
+		when(repository.findById(anyString()))
+			.thenAnswer(invocation -> Optional.ofNullable(table.get(invocation.<String>getArgument(0))));
+		when(repository.markUsed(anyString())).thenAnswer(invocation -> {
+			RefreshToken token = table.get(invocation.<String>getArgument(0));
+			if (token == null || token.getUsed() || token.getRevoked()) return 0;
+			token.setUsed(true);
+			return 1;
+		});
+		when(repository.revokeFamily(anyString())).thenAnswer(invocation -> {
+			table.values().stream().filter(token -> token.getFamily().equals(invocation.getArgument(0)))
+				.forEach(token -> token.setRevoked(true));
+			return 1;
+		});
+		when(repository.revokeUser(anyString())).thenAnswer(invocation -> {
+			table.values().stream().filter(token -> token.getUserName().equals(invocation.getArgument(0)))
+				.forEach(token -> token.setRevoked(true));
+			return 1;
+		});
+		return repository;
+	}
+}
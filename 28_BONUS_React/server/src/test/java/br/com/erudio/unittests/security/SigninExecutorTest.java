@@ -0,0 +1,105 @@
+package br.com.erudio.unittests.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import br.com.erudio.exceptions.ServiceOverloadedException;
+import br.com.erudio.exceptions.handler.CustomizedResponseEntityExceptionHandler;
+import br.com.erudio.security.signin.SigninExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class SigninExecutorTest {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private SigninExecutor executor;
+
+	@AfterEach
+	public void tearDown() {
+		release.countDown();
+		if (executor != null) ReflectionTestUtils.invokeMethod(executor, "shutdown");
+	}
+
+	@Test
+	public void testSaturatedPoolAnswers503WithRetryAfter() throws Exception {
+		executor = executor(1, 1, 10000, 7);
+		var started = new CountDownLatch(1);
+
+		// one sign in hashing, one queued
+		var running = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+			started.countDown();
+			await(release);
+			return "running";
+		}));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		var queued = CompletableFuture.supplyAsync(() -> executor.execute(() -> "queued"));
+		var registry = (SimpleMeterRegistry) ReflectionTestUtils.getField(executor, "registry");
+		while (registry.get("auth.signin.queue.depth").gauge().value() < 1) Thread.sleep(1);
+
+		var exception = assertThrows(ServiceOverloadedException.class, () -> executor.execute(() -> "rejected"));
+		assertEquals(7, exception.getRetryAfterSeconds());
+		assertEquals(1, registry.get("auth.signin.rejected").counter().count());
+
+		var response = new CustomizedResponseEntityExceptionHandler()
+				.handleServiceOverloadedExceptions(exception, new ServletWebRequest(new MockHttpServletRequest()));
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+		assertEquals("7", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+		release.countDown();
+		assertEquals("running", running.get(5, TimeUnit.SECONDS));
+		assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testTimeout() throws Exception {
+		executor = executor(1, 1, 50, 3);
+		var interrupted = new AtomicBoolean();
+		var finished = new CountDownLatch(1);
+
+		var exception = assertThrows(ServiceOverloadedException.class, () -> executor.execute(() -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				interrupted.set(true);
+			}
+			finished.countDown();
+			return "late";
+		}));
+		assertEquals(3, exception.getRetryAfterSeconds());
+
+		// only a task that checks the interrupt flag stops, PBKDF2 and bcrypt run to the end
+		assertTrue(finished.await(5, TimeUnit.SECONDS));
+		assertTrue(interrupted.get());
+	}
+
+	private SigninExecutor executor(int poolSize, int queueCapacity, long timeout, long retryAfter) {
+		var executor = new SigninExecutor(new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(executor, "poolSize", poolSize);
+		ReflectionTestUtils.setField(executor, "queueCapacity", queueCapacity);
+		ReflectionTestUtils.setField(executor, "timeoutInMilliseconds", timeout);
+		ReflectionTestUtils.setField(executor, "retryAfterSeconds", retryAfter);
+		ReflectionTestUtils.invokeMethod(executor, "init");
+		return executor;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package br.com.erudio.unittests.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.data.vo.v1.PersonLeanVO;
+import br.com.erudio.serialization.ExportWriter;
+import br.com.erudio.serialization.ExportWriter.Format;
+
+public class ExportWriterTest {
+
+	private ExportWriter writer;
+	private ByteArrayOutputStream out;
+
+	@BeforeEach
+	public void setUp() {
+		writer = new ExportWriter();
+		ReflectionTestUtils.setField(writer, "objectMapper", new ObjectMapper());
+		out = new ByteArrayOutputStream();
+	}
+
+	@Test
+	public void writesOneJsonObjectPerLine() throws Exception {
+		long count = writer.write(people(), PersonLeanVO.class, Format.NDJSON, "people", "person", out);
+
+		assertEquals(2, count);
+		assertEquals("""
+				{"id":1,"firstName":"Ayrton","lastName":"Senna","address":"Sao Paulo","gender":"Male","enabled":true}
+				{"id":2,"firstName":"Nelson","lastName":"Piquet","address":"Rio, RJ","gender":"Male","enabled":false}
+				""", written());
+	}
+
+	@Test
+	public void writesAHeaderRowAndQuotesWhereNeeded() throws Exception {
+		writer.write(people(), PersonLeanVO.class, Format.CSV, "people", "person", out);
+
+		assertEquals("""
+				id,firstName,lastName,address,gender,enabled
+				1,Ayrton,Senna,"Sao Paulo",Male,true
+				2,Nelson,Piquet,"Rio, RJ",Male,false
+				""", written());
+	}
+
+	@Test
+	public void wrapsTheRowsInOneXmlRoot() throws Exception {
+		writer.write(people(), PersonLeanVO.class, Format.XML, "people", "person", out);
+
+		assertEquals("<people>"
+				+ "<person><id>1</id><firstName>Ayrton</firstName><lastName>Senna</lastName>"
+				+ "<address>Sao Paulo</address><gender>Male</gender><enabled>true</enabled></person>"
+				+ "<person><id>2</id><firstName>Nelson</firstName><lastName>Piquet</lastName>"
+				+ "<address>Rio, RJ</address><gender>Male</gender><enabled>false</enabled></person>"
+				+ "</people>", written());
+	}
+
+	// the servlet stream sends a chunk on every flush, so a row must not cost one
+	@ParameterizedTest
+	@EnumSource(Format.class)
+	public void flushesOnceForTheWholeExport(Format format) throws Exception {
+		var flushes = new AtomicInteger();
+		var counting = new FilterOutputStream(out) {
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				out.write(b, off, len);
+			}
+
+			@Override
+			public void flush() throws IOException {
+				flushes.incrementAndGet();
+				super.flush();
+			}
+		};
+		Stream<PersonLeanVO> rows = LongStream.rangeClosed(1, 1000)
+				.mapToObj(id -> new PersonLeanVO(id, "Ayrton", "Senna", "Sao Paulo", "Male", true));
+
+		assertEquals(1000, writer.write(rows, PersonLeanVO.class, format, "people", "person", counting));
+		// closing the generator flushes too, so one or two
+		assertTrue(flushes.get() <= 2, format + " flushed " + flushes.get() + " times");
+	}
+
+	@Test
+	public void negotiatesTheFormatFromAccept() {
+		assertEquals(Format.NDJSON, Format.negotiate(null));
+		assertEquals(Format.NDJSON, Format.negotiate("*/*"));
+		assertEquals(Format.CSV, Format.negotiate("text/csv"));
+		assertEquals(Format.XML, Format.negotiate("text/csv;q=0, application/xml"));
+	}
+
+	private Stream<PersonLeanVO> people() {
+		return Stream.of(
+				new PersonLeanVO(1L, "Ayrton", "Senna", "Sao Paulo", "Male", true),
+				new PersonLeanVO(2L, "Nelson", "Piquet", "Rio, RJ", "Male", false));
+	}
+
+	private String written() {
+		return out.toString(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,121 @@
+package br.com.erudio.unittests.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import br.com.erudio.serialization.RepresentationCache;
+import br.com.erudio.unittests.mapper.mocks.MockPerson;
+
+public class RepresentationCacheTest {
+
+	private RepresentationCache cache;
+	private MockHttpServletRequest request;
+	private AtomicInteger loads;
+
+	@BeforeEach
+	public void setUp() {
+		var handlerAdapter = mock(RequestMappingHandlerAdapter.class);
+		when(handlerAdapter.getMessageConverters()).thenReturn(List.of(new MappingJackson2HttpMessageConverter()));
+
+		cache = new RepresentationCache();
+		ReflectionTestUtils.setField(cache, "contentNegotiationManager", new ContentNegotiationManager());
+		ReflectionTestUtils.setField(cache, "handlerAdapter", handlerAdapter);
+		ReflectionTestUtils.invokeMethod(cache, "init");
+
+		request = new MockHttpServletRequest("GET", "/api/person/v1/1");
+		request.addHeader("Accept", "application/json");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+		loads = new AtomicInteger();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	public void testServesCachedBytesWithETag() {
+		var first = cache.respond("person", 1L, 3L, this::load);
+		var second = cache.respond("person", 1L, 3L, this::load);
+
+		assertEquals(HttpStatus.OK, first.getStatusCode());
+		assertEquals("\"person-1-3-json\"", first.getHeaders().getETag());
+		assertTrue(new String(first.getBody()).contains("First Name Test1"));
+		assertArrayEquals(first.getBody(), second.getBody());
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void testAnswersMatchingIfNoneMatchWithoutLoading() {
+		request.addHeader("If-None-Match", "\"person-1-3-json\"");
+
+		var response = cache.respond("person", 1L, 3L, this::load);
+
+		assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+		assertEquals(0, loads.get());
+	}
+
+	@Test
+	public void testNewVersionIsLoadedAgain() {
+		request.addHeader("If-None-Match", "\"person-1-3-json\"");
+		cache.respond("person", 1L, 3L, this::load);
+
+		var response = cache.respond("person", 1L, 4L, this::load);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals("\"person-1-4-json\"", response.getHeaders().getETag());
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void testEachBaseUriHasItsOwnBytes() {
+		cache.respond("person", 1L, 3L, this::load);
+
+		request.setServerName("erudio.com.br");
+		cache.respond("person", 1L, 3L, this::load);
+
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void testBodyOfANewerVersionIsNotCached() {
+		Supplier<Object> newer = () -> {
+			loads.incrementAndGet();
+			var vo = new MockPerson().mockVO(1);
+			vo.setVersion(4L);
+			return vo;
+		};
+
+		var response = cache.respond("person", 1L, 3L, newer);
+		cache.respond("person", 1L, 3L, newer);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertNull(response.getHeaders().getETag());
+		assertEquals(2, loads.get());
+	}
+
+	private Object load() {
+		loads.incrementAndGet();
+		return new MockPerson().mockVO(1);
+	}
+}